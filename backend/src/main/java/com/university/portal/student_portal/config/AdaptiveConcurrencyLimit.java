@@ -0,0 +1,119 @@
+package com.university.portal.student_portal.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that follows the server's capacity, in the style of a gradient limiter. Every
+ * window it compares the window's mean latency with a slow moving baseline, and the mean
+ * connection-pool wait with a fixed target. When either is worse the limit shrinks by that ratio
+ * (at most halving); otherwise it grows by its square root while it is being used. Callers ask
+ * for a share of the limit, so lower priorities are refused while higher ones still get in.
+ */
+class AdaptiveConcurrencyLimit {
+
+    // Weight of the newest window in the latency baseline and in the limit
+    private static final double BASELINE_SMOOTHING = 0.05;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final long poolWaitTargetNanos;
+    private final long windowNanos;
+    private final LongSupplier poolWaitNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private volatile double limit;
+    // Only touched by the thread that closes a window
+    private double baselineNanos;
+
+    /**
+     * @param poolWaitNanos mean connection-pool wait since it was last called, 0 when unknown
+     */
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                             long poolWaitTargetNanos, long windowNanos, LongSupplier poolWaitNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.poolWaitTargetNanos = poolWaitTargetNanos;
+        this.windowNanos = windowNanos;
+        this.poolWaitNanos = poolWaitNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a place if fewer than {@code share} of the limit are in flight; pair with {@link #release}.
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param latencyNanos how long the request took, or a negative value to leave it out of the
+     *                     latency signal
+     */
+    void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        if (latencyNanos >= 0) {
+            latencySum.add(latencyNanos);
+            samples.increment();
+        }
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && samples.sum() > 0 && windowStart.compareAndSet(start, now)) {
+            long count = samples.sumThenReset();
+            long sum = latencySum.sumThenReset();
+            update(sum / Math.max(1, count), poolWaitNanos.getAsLong(), peakInFlight.getAndSet(inFlight.get()));
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    void update(long latencyNanos, long poolWaitNanos, int peak) {
+        if (baselineNanos == 0) {
+            baselineNanos = latencyNanos;
+        }
+        double gradient = clamp(latencyTolerance * baselineNanos / Math.max(1, latencyNanos));
+        // Slow windows move the baseline a tenth as fast, so an overload is shed for as long as it
+        // lasts while a lasting change in how long requests take is still learned within a minute
+        double smoothing = gradient < 1.0 ? BASELINE_SMOOTHING / 10 : BASELINE_SMOOTHING;
+        baselineNanos = baselineNanos * (1 - smoothing) + latencyNanos * smoothing;
+        if (poolWaitNanos > poolWaitTargetNanos) {
+            gradient = Math.min(gradient, clamp((double) poolWaitTargetNanos / poolWaitNanos));
+        }
+        double current = limit;
+        if (gradient >= 1.0 && peak < current / 2) {
+            // Not using the limit, so the window says nothing about whether more would fit
+            return;
+        }
+        double target = current * gradient + (gradient >= 1.0 ? Math.sqrt(current) : 0);
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING));
+    }
+
+    private static double clamp(double gradient) {
+        return Math.max(0.5, Math.min(1.0, gradient));
+    }
+}
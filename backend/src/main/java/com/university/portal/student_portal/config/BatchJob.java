@@ -0,0 +1,20 @@
+package com.university.portal.student_portal.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method, and everything it calls on the same thread, on the batch connection pool
+ * ({@code portal.datasource.batch.*}) so imports, recomputes and exports queue among themselves
+ * instead of taking connections from interactive requests. Executors the method hands work to
+ * need threads from {@link BatchWork#threads}. Applies to calls through the Spring proxy, like
+ * {@code @Transactional}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BatchJob {
+}
@@ -0,0 +1,22 @@
+package com.university.portal.student_portal.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implements {@link BatchJob}.
+ */
+@Aspect
+@Component
+// Ahead of the transaction interceptor, which takes the connection
+@Order(0)
+public class BatchJobAspect {
+
+    @Around("@annotation(com.university.portal.student_portal.config.BatchJob)")
+    public Object onBatchPool(ProceedingJoinPoint call) throws Throwable {
+        return BatchWork.run(call::proceed);
+    }
+}
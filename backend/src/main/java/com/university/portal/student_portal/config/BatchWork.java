@@ -0,0 +1,81 @@
+package com.university.portal.student_portal.config;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * Marks the current thread as doing batch work, so the connections it takes come from the batch
+ * pool instead of the one serving interactive requests. Entered through {@link BatchJob} methods,
+ * or for executor threads through {@link #threads}.
+ */
+public final class BatchWork {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    private BatchWork() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+
+    public interface Work<T> {
+        T run() throws Throwable;
+    }
+
+    public static <T> T run(Work<T> work) throws Throwable {
+        if (ACTIVE.get()) {
+            return work.run();
+        }
+        ACTIVE.set(true);
+        try {
+            return work.run();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    // Threads from this factory do batch work for their whole life
+    public static ThreadFactory threads(ThreadFactory factory) {
+        return task -> factory.newThread(() -> {
+            ACTIVE.set(true);
+            task.run();
+        });
+    }
+
+    /**
+     * Runs {@code work} over {@code items} in chunks of {@code chunkSize}, each chunk in its own
+     * transaction, on up to one batch thread per CPU. Fails with {@code job} in the message if any chunk does.
+     */
+    public static <T> void inChunks(String job, List<T> items, int chunkSize, ThreadFactory factory,
+                                    TransactionTemplate transactionTemplate, Consumer<List<T>> work) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += chunkSize) {
+            chunks.add(items.subList(i, Math.min(i + chunkSize, items.size())));
+        }
+
+        int threads = Math.max(1, Math.min(chunks.size(), Runtime.getRuntime().availableProcessors()));
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads, threads(factory))) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<T> chunk : chunks) {
+                futures.add(pool.submit(() -> transactionTemplate.executeWithoutResult(status -> work.accept(chunk))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(job + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(job + " failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.university.portal.student_portal.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads for internal executors whose tasks mostly wait on JDBC or disk. They are virtual when
+ * {@code spring.threads.virtual.enabled} is set, like the request threads, and platform threads
+ * otherwise. CPU-bound pools such as PDF rendering keep platform threads in either mode.
+ */
+@Component
+public class BlockingThreads {
+
+    private final boolean virtual;
+
+    public BlockingThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory factory(String namePrefix) {
+        return virtual
+                ? Thread.ofVirtual().name(namePrefix, 1).factory()
+                : Thread.ofPlatform().name(namePrefix, 1).factory();
+    }
+}
@@ -0,0 +1,55 @@
+package com.university.portal.student_portal.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.university.portal.student_portal.service.CacheInvalidationBus;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * A Caffeine cache whose evictions are repeated on the other portal nodes. It sits beneath the
+ * transaction-aware decorator, so evictions reach here, and the bus, only after commit. Keys
+ * travel as their {@code toString()}, and remote nodes evict every key with the same string form.
+ */
+class BroadcastingCaffeineCache extends CaffeineCache {
+
+    private final CacheInvalidationBus bus;
+
+    BroadcastingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues, CacheInvalidationBus bus) {
+        super(name, cache, allowNullValues);
+        this.bus = bus;
+        bus.subscribe(name, this::evictLocally);
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        bus.publish(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = super.evictIfPresent(key);
+        bus.publish(getName(), key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        bus.publish(getName(), CacheInvalidationBus.ALL);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = super.invalidate();
+        bus.publish(getName(), CacheInvalidationBus.ALL);
+        return notEmpty;
+    }
+
+    private void evictLocally(String key) {
+        if (CacheInvalidationBus.ALL.equals(key)) {
+            getNativeCache().invalidateAll();
+        } else {
+            getNativeCache().asMap().keySet().removeIf(cached -> String.valueOf(cached).equals(key));
+        }
+    }
+}
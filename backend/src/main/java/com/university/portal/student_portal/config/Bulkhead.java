@@ -0,0 +1,26 @@
+package com.university.portal.student_portal.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller, or one handler method, in a named bulkhead: at most
+ * {@code portal.bulkheads.<name>.max-concurrent} of its requests run at once and up to
+ * {@code max-queue} more wait as long as {@code max-wait} for a turn. Requests beyond that are
+ * answered straight away, 429 when the queue is full and 503 when the wait runs out, both with
+ * {@code Retry-After}, so heavy endpoints cannot take every request thread. An annotation on the
+ * method replaces the one on the class.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /**
+     * Bulkhead name; endpoints with the same name share its limits.
+     */
+    String value();
+}
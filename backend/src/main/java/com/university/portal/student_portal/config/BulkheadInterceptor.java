@@ -0,0 +1,158 @@
+package com.university.portal.student_portal.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implements {@link Bulkhead}. Runs after the security filters, so only authenticated requests
+ * take a place. Publishes bulkhead.active{bulkhead}, bulkhead.queued{bulkhead},
+ * bulkhead.wait{bulkhead} and bulkhead.calls{bulkhead,outcome=admitted|queue-full|timed-out}.
+ */
+@Component
+public class BulkheadInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String PERMIT = BulkheadInterceptor.class.getName() + ".permit";
+
+    private final class Compartment {
+
+        private final String name;
+        private final int maxConcurrent;
+        private final int maxQueue;
+        private final Duration maxWait;
+        private final long retryAfterSeconds;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Timer waits;
+
+        private Compartment(String name) {
+            String prefix = "portal.bulkheads." + name + ".";
+            this.name = name;
+            this.maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, 10);
+            this.maxQueue = environment.getProperty(prefix + "max-queue", Integer.class, 10);
+            this.maxWait = DurationStyle.detectAndParse(environment.getProperty(prefix + "max-wait", "1s"));
+            this.retryAfterSeconds = Math.max(1, DurationStyle.detectAndParse(environment.getProperty(prefix + "retry-after", "5s")).toSeconds());
+            this.permits = new Semaphore(maxConcurrent, true);
+            Gauge.builder("bulkhead.active", this, c -> c.maxConcurrent - c.permits.availablePermits())
+                    .description("Requests running in the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.queued", queued, AtomicInteger::get)
+                    .description("Requests waiting for a place in the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            this.waits = Timer.builder("bulkhead.wait")
+                    .description("Time requests waited for a place in the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            System.out.println("Bulkhead " + name + ": " + maxConcurrent + " concurrent, " + maxQueue + " queued for up to " + maxWait);
+        }
+
+        private String acquire() throws InterruptedException {
+            if (permits.tryAcquire()) {
+                return "admitted";
+            }
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                return "queue-full";
+            }
+            long start = System.nanoTime();
+            try {
+                return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS) ? "admitted" : "timed-out";
+            } finally {
+                queued.decrementAndGet();
+                waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+    private final Map<Method, Optional<Compartment>> byHandler = new ConcurrentHashMap<>();
+
+    public BulkheadInterceptor(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Optional<Compartment> compartment = byHandler.computeIfAbsent(method.getMethod(), m -> find(method));
+        if (compartment.isEmpty()) {
+            return true;
+        }
+
+        Compartment bulkhead = compartment.get();
+        String outcome = bulkhead.acquire();
+        count(bulkhead.name, outcome);
+        switch (outcome) {
+            case "admitted":
+                request.setAttribute(PERMIT, bulkhead);
+                return true;
+            case "queue-full":
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                break;
+            default:
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                break;
+        }
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bulkhead.retryAfterSeconds));
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Compartment bulkhead) {
+            request.removeAttribute(PERMIT);
+            bulkhead.permits.release();
+        }
+    }
+
+    private Optional<Compartment> find(HandlerMethod method) {
+        Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), Bulkhead.class);
+        }
+        return Optional.ofNullable(bulkhead).map(b -> compartments.computeIfAbsent(b.value(), Compartment::new));
+    }
+
+    private void count(String bulkhead, String outcome) {
+        Counter.builder("bulkhead.calls")
+                .description("Requests to bulkheaded endpoints by whether they got a place")
+                .tag("bulkhead", bulkhead)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,47 @@
+package com.university.portal.student_portal.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.portal.student_portal.service.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Read-through caches for reference data that changes a few times per trimester. Entries expire
+ * after {@code portal.catalog-cache.spec} (default ten minutes) as a backstop, and the owning
+ * services evict on every write. Evictions inside a transaction wait for the commit and are then
+ * repeated on the other nodes through {@link CacheInvalidationBus}. Hit and miss counts are
+ * published as cache.gets{cache=...,result=hit|miss}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROGRAMS = "programs";
+    public static final String COURSES = "courses";
+    public static final String ACTIVE_TRIMESTERS = "activeTrimesters";
+    public static final String ACTIVE_FEES = "activeFees";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${portal.catalog-cache.spec:maximumSize=1000,expireAfterWrite=10m}") String spec,
+                                     CacheInvalidationBus cacheInvalidationBus) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new BroadcastingCaffeineCache(name, cache, isAllowNullValues(), cacheInvalidationBus);
+            }
+        };
+        caffeine.setCaffeine(Caffeine.from(spec).recordStats());
+        caffeine.setAllowNullValues(false);
+        // A fixed set of names so the caches exist for metrics at startup and typos fail fast
+        caffeine.setCacheNames(List.of(PROGRAMS, COURSES, ACTIVE_TRIMESTERS, ACTIVE_FEES));
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
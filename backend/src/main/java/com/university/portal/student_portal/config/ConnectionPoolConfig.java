@@ -0,0 +1,62 @@
+package com.university.portal.student_portal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Two pools on the primary database in place of Spring Boot's single one: {@code oltp}, configured
+ * by {@code spring.datasource.hikari.*}, for requests, and {@code batch}, configured by
+ * {@code portal.datasource.batch.*}, for {@link BatchJob} work. The batch pool is small and its
+ * callers wait minutes rather than seconds for a connection. With read replicas configured,
+ * read-only transactions go through {@link ReadReplicaConfig} first.
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpPool(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("oltp");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("portal.datasource.batch")
+    public HikariDataSource batchPool(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("batch");
+        pool.setMaximumPoolSize(4);
+        pool.setConnectionTimeout(Duration.ofMinutes(5).toMillis());
+        return pool;
+    }
+
+    @Bean
+    WorkloadRoutingDataSource primaryDataSource(HikariDataSource oltpPool,
+                                                HikariDataSource batchPool,
+                                                ConnectionPools connectionPools,
+                                                @Value("${portal.jdbc.acquire-timeout:5s}") Duration acquireTimeout) {
+        return new WorkloadRoutingDataSource(
+                connectionPools.wrap(oltpPool, acquireTimeout),
+                connectionPools.wrap(batchPool, Duration.ofMillis(batchPool.getConnectionTimeout())));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource primaryDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        ReplicaRoutingDataSource replicas = replicaRoutingDataSource.getIfAvailable();
+        // Read-only is only known once the transaction has begun, after it asked for a connection
+        return replicas != null ? new LazyConnectionDataSourceProxy(replicas) : primaryDataSource;
+    }
+}
@@ -0,0 +1,88 @@
+package com.university.portal.student_portal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps every Hikari pool the portal uses (OLTP, batch, read replicas) the same way: Hikari's
+ * own metrics (hikaricp.connections.* tagged by pool), a {@link HoldTrackingDataSource} that logs
+ * connections held longer than {@code portal.jdbc.leak-threshold} with the request that took
+ * them, and in virtual-thread mode a {@link ConnectionLimitingDataSource} in front, since request
+ * concurrency is then no longer capped by a thread pool. Publishes jdbc.connections.long-held{pool}
+ * and, with virtual threads, jdbc.connections.limit.waiting/in-use/rejected{pool}.
+ */
+@Component
+public class ConnectionPools {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean virtualThreads;
+    private final Duration leakThreshold;
+    private final List<HoldTrackingDataSource> tracked = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService leakChecker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("connection-leak-check").factory());
+
+    public ConnectionPools(MeterRegistry meterRegistry,
+                           BlockingThreads blockingThreads,
+                           @Value("${portal.jdbc.leak-threshold:30s}") Duration leakThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = blockingThreads.isVirtual();
+        this.leakThreshold = leakThreshold;
+        long period = Math.max(1_000, leakThreshold.toMillis() / 2);
+        leakChecker.scheduleWithFixedDelay(() -> tracked.forEach(HoldTrackingDataSource::reportLongHolds),
+                period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Call before the pool hands out its first connection. In virtual-thread mode callers wait
+     * at most {@code acquireTimeout} for a turn at the pool.
+     */
+    public DataSource wrap(HikariDataSource pool, Duration acquireTimeout) {
+        if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+            pool.setMetricRegistry(meterRegistry);
+        }
+        String name = pool.getPoolName();
+        HoldTrackingDataSource holds = new HoldTrackingDataSource(pool, name, leakThreshold);
+        tracked.add(holds);
+        FunctionCounter.builder("jdbc.connections.long-held", holds, HoldTrackingDataSource::getLongHolds)
+                .description("Connections held longer than portal.jdbc.leak-threshold")
+                .tag("pool", name)
+                .register(meterRegistry);
+        if (!virtualThreads) {
+            return holds;
+        }
+
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(holds, pool.getMaximumPoolSize(), acquireTimeout);
+        Gauge.builder("jdbc.connections.limit.waiting", limiter, ConnectionLimitingDataSource::getWaiting)
+                .description("Threads queued for a database connection")
+                .tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("jdbc.connections.limit.in-use", limiter, ConnectionLimitingDataSource::getInUse)
+                .description("Database connections held, out of the pool size")
+                .tag("pool", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("jdbc.connections.limit.rejected", limiter, ConnectionLimitingDataSource::getRejected)
+                .description("Connection requests that timed out in the queue")
+                .tag("pool", name)
+                .register(meterRegistry);
+        System.out.println("Virtual threads enabled; limiting pool " + name + " to " + limiter.getMaxConcurrent() + " concurrent connections");
+        return limiter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leakChecker.shutdownNow();
+    }
+}
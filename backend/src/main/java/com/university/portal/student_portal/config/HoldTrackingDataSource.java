@@ -0,0 +1,122 @@
+package com.university.portal.student_portal.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers who holds each connection of one pool: the request method and path, or the thread
+ * name outside requests. {@link #reportLongHolds} logs every connection held past the threshold
+ * once, with its owner, and its release later; Hikari's own leak detection only has a stack trace.
+ */
+class HoldTrackingDataSource extends DelegatingDataSource {
+
+    private static final class Hold {
+
+        private final String owner;
+        private final long since = System.nanoTime();
+        private volatile boolean reported;
+
+        private Hold(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    private final String pool;
+    private final long thresholdNanos;
+    private final Map<Connection, Hold> holds = new ConcurrentHashMap<>();
+    private final AtomicLong longHolds = new AtomicLong();
+
+    HoldTrackingDataSource(DataSource target, String pool, Duration threshold) {
+        super(target);
+        this.pool = pool;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracked(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracked(super.getConnection(username, password));
+    }
+
+    String getPool() {
+        return pool;
+    }
+
+    long getLongHolds() {
+        return longHolds.get();
+    }
+
+    int getHeld() {
+        return holds.size();
+    }
+
+    void reportLongHolds() {
+        long now = System.nanoTime();
+        for (Hold hold : holds.values()) {
+            if (!hold.reported && now - hold.since > thresholdNanos) {
+                hold.reported = true;
+                longHolds.incrementAndGet();
+                System.out.println("WARNING: " + pool + " connection held for " + seconds(now - hold.since)
+                        + "s by " + hold.owner + ", possible leak");
+            }
+        }
+    }
+
+    private static String owner() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletRequest request = servlet.getRequest();
+            return request.getMethod() + " " + request.getRequestURI() + " on " + Thread.currentThread().getName();
+        }
+        return (BatchWork.isActive() ? "batch work" : "background work") + " on " + Thread.currentThread().getName();
+    }
+
+    private static String seconds(long nanos) {
+        return String.format("%.1f", nanos / 1e9);
+    }
+
+    private Connection tracked(Connection connection) {
+        Hold hold = new Hold(owner());
+        Connection proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return self == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "close":
+                            if (holds.remove(self) != null && hold.reported) {
+                                System.out.println("WARNING: " + pool + " connection released after "
+                                        + seconds(System.nanoTime() - hold.since) + "s by " + hold.owner);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        holds.put(proxy, hold);
+        return proxy;
+    }
+}
@@ -40,7 +40,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String requestURI = request.getRequestURI();
         if (requestURI.equals("/api/transcript/me") || 
             requestURI.equals("/api/transcript/me/pdf") || 
-            requestURI.equals("/api/certificate/me/pdf")) {
+            requestURI.equals("/api/certificate/me/pdf") ||
+            // Certificate verification is public and must not hit the database for a token lookup
+            requestURI.startsWith("/api/certificate/verify") ||
+            requestURI.equals("/api/certificate/public-key")) {
             filterChain.doFilter(request, response);
             return;
         }
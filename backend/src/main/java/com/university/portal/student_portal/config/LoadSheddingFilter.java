@@ -0,0 +1,148 @@
+package com.university.portal.student_portal.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load ahead of authentication once the server is past its capacity, so requests that are
+ * let in keep finishing in time instead of all of them slowing down together. The limit on
+ * requests in flight is an {@link AdaptiveConcurrencyLimit} driven by request latency and the
+ * OLTP pool's connection wait. Low-priority requests (GETs under
+ * {@code portal.load-shedding.low-priority-paths}: reports, listings, exports) only get the first
+ * 70% of it and critical ones (writes under {@code portal.load-shedding.critical-paths}:
+ * enrollment, payments, login) all of it, so under overload reports and listings get 503 with
+ * {@code Retry-After} first. Actuator endpoints are never shed. Publishes
+ * loadshedding.limit, loadshedding.in-flight and loadshedding.requests{priority,outcome=admitted|shed}.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    enum Priority {
+        LOW(0.7), NORMAL(0.9), CRITICAL(1.0);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final boolean enabled;
+    private final List<PathPattern> criticalPaths;
+    private final List<PathPattern> lowPriorityPaths;
+    private final AdaptiveConcurrencyLimit limit;
+    private final MeterRegistry meterRegistry;
+    private final Map<Priority, Counter> admitted = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+    // Acquire timer totals at the last window, read only by the thread closing a window
+    private double lastAcquireNanos;
+    private long lastAcquires;
+
+    public LoadSheddingFilter(MeterRegistry meterRegistry,
+                              @Value("${portal.load-shedding.enabled:true}") boolean enabled,
+                              @Value("${portal.load-shedding.critical-paths:}") List<String> criticalPaths,
+                              @Value("${portal.load-shedding.low-priority-paths:}") List<String> lowPriorityPaths,
+                              @Value("${portal.load-shedding.initial-limit:50}") int initialLimit,
+                              @Value("${portal.load-shedding.min-limit:10}") int minLimit,
+                              @Value("${portal.load-shedding.max-limit:200}") int maxLimit,
+                              @Value("${portal.load-shedding.latency-tolerance:1.5}") double latencyTolerance,
+                              @Value("${portal.load-shedding.pool-wait-target:50ms}") Duration poolWaitTarget,
+                              @Value("${portal.load-shedding.window:250ms}") Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.criticalPaths = criticalPaths.stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList();
+        this.lowPriorityPaths = lowPriorityPaths.stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList();
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTolerance,
+                poolWaitTarget.toNanos(), window.toNanos(), this::poolWaitNanos);
+        for (Priority priority : Priority.values()) {
+            admitted.put(priority, requests(priority, "admitted"));
+            shed.put(priority, requests(priority, "shed"));
+        }
+        Gauge.builder("loadshedding.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Requests allowed in flight before critical requests are shed")
+                .register(meterRegistry);
+        Gauge.builder("loadshedding.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests in flight, other than actuator endpoints")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod()) || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = priority(request);
+        if (!limit.tryAcquire(priority.share)) {
+            shed.get(priority).increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+
+        admitted.get(priority).increment();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Reports and exports are slow by nature; only other requests tell whether we are slowing down
+            limit.release(priority == Priority.LOW ? -1 : System.nanoTime() - start);
+        }
+    }
+
+    Priority priority(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (!read && criticalPaths.stream().anyMatch(pattern -> pattern.matches(path))) {
+            return Priority.CRITICAL;
+        }
+        if (read && lowPriorityPaths.stream().anyMatch(pattern -> pattern.matches(path))) {
+            return Priority.LOW;
+        }
+        return Priority.NORMAL;
+    }
+
+    private long poolWaitNanos() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "oltp").timer();
+        if (acquire == null) {
+            return 0;
+        }
+        double total = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long count = acquire.count();
+        long waits = count - lastAcquires;
+        long mean = waits > 0 ? (long) ((total - lastAcquireNanos) / waits) : 0;
+        lastAcquireNanos = total;
+        lastAcquires = count;
+        return mean;
+    }
+
+    private Counter requests(Priority priority, String outcome) {
+        return Counter.builder("loadshedding.requests")
+                .description("Requests by priority and whether they were let in")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
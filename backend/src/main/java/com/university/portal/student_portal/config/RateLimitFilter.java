@@ -0,0 +1,211 @@
+package com.university.portal.student_portal.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.portal.student_portal.auth.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-caller token buckets for the routes under {@code portal.rate-limits.<name>}: each caller
+ * may make {@code limit} requests at once and gets them back evenly over {@code period}. Callers
+ * are told apart by the subject of a valid bearer token, otherwise by IP address, and limited
+ * before the token's user is looked up. Every limited route answers with RateLimit-Limit,
+ * RateLimit-Remaining and RateLimit-Reset (seconds until the bucket is full), and refused requests
+ * get 429 with {@code Retry-After}. A request matching several routes has to pass all of them,
+ * and one refused by any route gives back the tokens it took from the others. Limits are per node. Publishes ratelimit.requests{route,outcome=allowed|limited}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    record Route(List<String> paths, int limit, Duration period) {
+    }
+
+    private static final int MAX_CALLERS = 100_000;
+
+    // nanoTime can be negative; buckets measure from here so an unused bucket reads 0
+    private static final long ORIGIN = System.nanoTime();
+
+    /**
+     * Token bucket kept as the time it will be full again (GCRA): taking a token moves that time
+     * one refill interval later, and the bucket is empty once it is {@code limit} intervals ahead.
+     */
+    private static final class Bucket {
+
+        private final AtomicLong fullAt = new AtomicLong();
+
+        // Nanoseconds until full after taking a token, or -1 when there is none to take
+        private long take(long now, long interval, long capacity) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + interval;
+                if (next - now > capacity) {
+                    return -1;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return next - now;
+                }
+            }
+        }
+
+        // Gives back a token taken by a request that another route then refused
+        private void refund(long interval) {
+            fullAt.addAndGet(-interval);
+        }
+    }
+
+    private final class Limiter {
+
+        private final String name;
+        private final List<PathPattern> paths;
+        private final int limit;
+        private final long interval;
+        private final long capacity;
+        private final Counter allowed;
+        private final Counter limited;
+
+        private Limiter(String name, Route route) {
+            if (route.paths() == null || route.limit() <= 0 || route.period() == null || route.period().isNegative() || route.period().isZero()) {
+                throw new IllegalStateException("portal.rate-limits." + name + " needs paths, a positive limit and a period");
+            }
+            this.name = name;
+            this.paths = route.paths().stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList();
+            this.limit = route.limit();
+            this.interval = route.period().toNanos() / route.limit();
+            this.capacity = interval * route.limit();
+            this.allowed = requests(name, "allowed");
+            this.limited = requests(name, "limited");
+        }
+    }
+
+    private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+    private final List<Limiter> limiters = new ArrayList<>();
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimitFilter(JwtService jwtService, MeterRegistry meterRegistry, Environment environment) {
+        this.jwtService = jwtService;
+        this.meterRegistry = meterRegistry;
+        Map<String, Route> routes = Binder.get(environment)
+                .bind("portal.rate-limits", Bindable.mapOf(String.class, Route.class))
+                .orElse(Map.of());
+        Duration longest = Duration.ZERO;
+        for (Map.Entry<String, Route> route : routes.entrySet()) {
+            limiters.add(new Limiter(route.getKey(), route.getValue()));
+            longest = route.getValue().period().compareTo(longest) > 0 ? route.getValue().period() : longest;
+        }
+        // A bucket left alone for its period is full again, as good as a new one
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(MAX_CALLERS)
+                .expireAfterAccess(longest.isZero() ? Duration.ofMinutes(1) : longest)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return limiters.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        String caller = null;
+        Limiter tightest = null;
+        long tightestUntilFull = 0;
+        List<Limiter> passed = new ArrayList<>();
+        List<Bucket> taken = new ArrayList<>();
+        for (Limiter limiter : limiters) {
+            if (limiter.paths.stream().noneMatch(pattern -> pattern.matches(path))) {
+                continue;
+            }
+            if (caller == null) {
+                caller = caller(request);
+            }
+            long now = System.nanoTime() - ORIGIN;
+            Bucket bucket = buckets.get(limiter.name + " " + caller, key -> new Bucket());
+            long untilFull = bucket.take(now, limiter.interval, limiter.capacity);
+            if (untilFull < 0) {
+                for (int i = 0; i < taken.size(); i++) {
+                    taken.get(i).refund(passed.get(i).interval);
+                }
+                limiter.limited.increment();
+                long untilToken = bucket.fullAt.get() - now - limiter.capacity + limiter.interval;
+                setHeaders(response, limiter, 0, bucket.fullAt.get() - now);
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(untilToken)));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                return;
+            }
+            passed.add(limiter);
+            taken.add(bucket);
+            if (tightest == null || remaining(limiter, untilFull) < remaining(tightest, tightestUntilFull)) {
+                tightest = limiter;
+                tightestUntilFull = untilFull;
+            }
+        }
+        passed.forEach(limiter -> limiter.allowed.increment());
+        if (tightest != null) {
+            setHeaders(response, tightest, remaining(tightest, tightestUntilFull), tightestUntilFull);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String caller(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            try {
+                String subject = jwtService.extractUsername(header.substring(7));
+                if (subject != null) {
+                    return "sub:" + subject;
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired; JwtAuthFilter leaves the request unauthenticated
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long remaining(Limiter limiter, long untilFull) {
+        return (limiter.capacity - untilFull) / limiter.interval;
+    }
+
+    private static void setHeaders(HttpServletResponse response, Limiter limiter, long remaining, long untilFull) {
+        response.setHeader("RateLimit-Limit", String.valueOf(limiter.limit));
+        response.setHeader("RateLimit-Remaining", String.valueOf(remaining));
+        response.setHeader("RateLimit-Reset", String.valueOf(seconds(untilFull)));
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999) / 1_000_000_000);
+    }
+
+    private Counter requests(String route, String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .description("Requests on rate-limited routes by whether they were within the caller's limit")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.portal.student_portal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work such as reports, transcripts,
+ * catalog listings and exports. Enabled by listing JDBC URLs in {@code portal.read-replicas.urls};
+ * without it everything goes to the primary's pools from {@link ConnectionPoolConfig}. Replicas
+ * use the primary's credentials unless {@code portal.read-replicas.username}/{@code password}
+ * are set, and are skipped while more than {@code portal.read-replicas.max-lag} behind, checked
+ * every {@code portal.read-replicas.check-interval}. Any database accepting the same schema can
+ * stand in for a replica locally, e.g. the primary's own URL with {@code ?ApplicationName=replica}.
+ */
+@Configuration
+@ConditionalOnProperty("portal.read-replicas.urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(WorkloadRoutingDataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      ConnectionPools connectionPools,
+                                                      MeterRegistry meterRegistry,
+                                                      Environment environment,
+                                                      @Value("${portal.jdbc.acquire-timeout:5s}") Duration acquireTimeout,
+                                                      @Value("${portal.read-replicas.urls}") List<String> urls,
+                                                      @Value("${portal.read-replicas.pool-size:10}") int poolSize,
+                                                      @Value("${portal.read-replicas.max-lag:2s}") Duration maxLag,
+                                                      @Value("${portal.read-replicas.check-interval:1s}") Duration checkInterval) {
+        String username = environment.getProperty("portal.read-replicas.username", properties.determineUsername());
+        String password = environment.getProperty("portal.read-replicas.password", properties.determinePassword());
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            // A replica that is down must not stop the portal from starting
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, connectionPools.wrap(pool, acquireTimeout)));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, meterRegistry);
+        routing.startLagChecks(checkInterval);
+        System.out.println("Routing read-only transactions to " + replicas.size() + " read replica(s), max lag " + maxLag);
+        return routing;
+    }
+
+    // Lets each transaction, including those in an open-in-view session, take its own connection from the right pool
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public TransactionExecutionListener replicaWriteFence(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Runs on the committing thread, so the write is marked against the caller who made it
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (!transaction.isReadOnly() && commitFailure == null) {
+                    replicaRoutingDataSource.markWrite();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,198 @@
+package com.university.portal.student_portal.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary.
+ * A replica is used only while its measured replication lag is within {@code maxLag}; when none
+ * qualifies, or the same caller committed a write on this node less than {@code maxLag} ago, the
+ * read goes to the primary so callers see their own writes. The caller is the authenticated user,
+ * or the thread when there is none; other callers' writes do not hold their reads back. Has to sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, since the
+ * transaction is only marked read-only after it has asked for a connection.
+ * Publishes jdbc.replica.lag{replica} in seconds and jdbc.reads.routed{target=replica|primary}.
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private static final int RECENT_WRITERS_SIZE = 100_000;
+
+    static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        // Seconds behind the primary; infinite until checked and while unreachable
+        private volatile double lag = Double.POSITIVE_INFINITY;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        DataSource getDataSource() {
+            return dataSource;
+        }
+
+        double getLag() {
+            return lag;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    // Callers that wrote within the last maxLag; an entry expiring lifts that caller's fence
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter routedToReplica;
+    private final Counter routedToPrimary;
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("read-replica-lag-check").factory());
+
+    ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(RECENT_WRITERS_SIZE)
+                .expireAfterWrite(maxLag)
+                .build();
+        for (Replica replica : this.replicas) {
+            Gauge.builder("jdbc.replica.lag", replica, Replica::getLag)
+                    .description("Replication lag of a read replica in seconds, infinite when unreachable")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        this.routedToReplica = routed(meterRegistry, "replica");
+        this.routedToPrimary = routed(meterRegistry, "primary");
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("jdbc.reads.routed")
+                .description("Connections for read-only transactions by where they were sent")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // Keeps the current caller's reads on the primary for the next maxLag, until replicas have caught up with the write
+    void markWrite() {
+        recentWriters.put(currentCaller(), Boolean.TRUE);
+    }
+
+    static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "thread:" + Thread.currentThread().threadId();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        return readConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection(username, password);
+        }
+        return readConnection();
+    }
+
+    private Connection readConnection() throws SQLException {
+        if (!replicas.isEmpty() && recentWriters.getIfPresent(currentCaller()) == null) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.lag > maxLagSeconds) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    routedToReplica.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    // Skipped until the next lag check finds it reachable again
+                    replica.lag = Double.POSITIVE_INFINITY;
+                }
+            }
+        }
+        routedToPrimary.increment();
+        return primary.getConnection();
+    }
+
+    void startLagChecks(Duration interval) {
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        lagChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource.isWrapperFor(HikariDataSource.class)) {
+                replica.dataSource.unwrap(HikariDataSource.class).close();
+            }
+        }
+    }
+
+    void checkLag() {
+        for (Replica replica : replicas) {
+            double lag = Double.POSITIVE_INFINITY;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                if (result.next()) {
+                    // Null before the replica has replayed anything
+                    double seconds = result.getDouble(1);
+                    lag = result.wasNull() ? Double.POSITIVE_INFINITY : Math.max(0, seconds);
+                }
+            } catch (SQLException e) {
+                if (replica.lag != Double.POSITIVE_INFINITY) {
+                    System.out.println("WARNING: read replica " + replica.name + " unreachable, reading from the primary: " + e.getMessage());
+                }
+            }
+            if (lag > maxLagSeconds && replica.lag <= maxLagSeconds && lag != Double.POSITIVE_INFINITY) {
+                System.out.println("WARNING: read replica " + replica.name + " is " + lag + "s behind, reading from the primary");
+            }
+            replica.lag = lag;
+        }
+    }
+}
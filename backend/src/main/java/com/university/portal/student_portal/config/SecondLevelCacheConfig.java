@@ -0,0 +1,74 @@
+package com.university.portal.student_portal.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.university.portal.student_portal.entity.Course;
+import com.university.portal.student_portal.entity.Fee;
+import com.university.portal.student_portal.entity.Program;
+import com.university.portal.student_portal.entity.ProgramCourse;
+import com.university.portal.student_portal.entity.Trimester;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the reference entities that enrollments, requests, fees and
+ * payments point at, so resolving those associations is a memory lookup. Regions live in a
+ * Caffeine JCache manager built here, bounded by {@code portal.entity-cache.maximum-size} per
+ * region and {@code portal.entity-cache.time-to-live}; a region Hibernate asks for but which is
+ * not listed here fails startup. Other nodes are kept in step by {@link SecondLevelCacheInvalidation}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final List<Class<?>> CACHED_ENTITIES = List.of(
+            Trimester.class, Program.class, Course.class, Fee.class, ProgramCourse.class);
+
+    @Bean
+    public CacheManager entityCacheManager(@Value("${portal.entity-cache.maximum-size:10000}") long maximumSize,
+                                           @Value("${portal.entity-cache.time-to-live:1h}") Duration timeToLive) {
+        // A URI of its own per application context, since JCache managers are shared per URI
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("portal-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (Class<?> entity : CACHED_ENTITIES) {
+            cacheManager.createCache(entity.getName(), configuration(maximumSize, timeToLive));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                configuration(maximumSize, timeToLive));
+        // Hibernate checks query results against these timestamps, so they must never be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(long maximumSize, Duration timeToLive) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()))
+                // Hibernate already stores disassembled state; copying it again buys nothing
+                .setStoreByValue(false);
+    }
+}
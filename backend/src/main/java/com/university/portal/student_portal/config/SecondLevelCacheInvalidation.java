@@ -0,0 +1,97 @@
+package com.university.portal.student_portal.config;
+
+import com.university.portal.student_portal.service.CacheInvalidationBus;
+import com.university.portal.student_portal.service.CatalogResponseCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repeats committed writes to second-level cached entities on the other nodes. Updates and
+ * deletes evict that entity there; every write also drops their cached query results, which
+ * may now be missing or listing the row. Serialized catalog responses are built from these
+ * entities, so every node drops those as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidation implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    public static final String INVALIDATION_REGION = "entity-cache";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CatalogResponseCache catalogResponseCache;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        cacheInvalidationBus.subscribe(INVALIDATION_REGION, this::evictLocally);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        catalogResponseCache.invalidate();
+        cacheInvalidationBus.publish(INVALIDATION_REGION, event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        catalogResponseCache.invalidate();
+        cacheInvalidationBus.publish(INVALIDATION_REGION, event.getPersister().getEntityName() + "#" + event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        catalogResponseCache.invalidate();
+        cacheInvalidationBus.publish(INVALIDATION_REGION, event.getPersister().getEntityName() + "#" + event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    // Keys are "EntityName" after an insert and "EntityName#id" otherwise; cached entities all have Long ids
+    private void evictLocally(String key) {
+        catalogResponseCache.invalidate();
+        Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        if (CacheInvalidationBus.ALL.equals(key)) {
+            cache.evictAllRegions();
+            return;
+        }
+        int separator = key.indexOf('#');
+        if (separator > 0) {
+            cache.evictEntityData(key.substring(0, separator), Long.valueOf(key.substring(separator + 1)));
+        }
+        cache.evictDefaultQueryRegion();
+    }
+}
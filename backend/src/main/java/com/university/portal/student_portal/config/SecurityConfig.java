@@ -23,6 +23,8 @@ import org.springframework.security.config.Customizer;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final LoadSheddingFilter loadSheddingFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
 
@@ -38,12 +40,19 @@ public class SecurityConfig {
                 .requestMatchers("/api/transcript/me").permitAll()
                 .requestMatchers("/api/transcript/me/pdf").permitAll()
                 .requestMatchers("/api/certificate/me/pdf").permitAll()
+                .requestMatchers("/api/certificate/verify/**", "/api/certificate/verify", "/api/certificate/public-key").permitAll()
+                .requestMatchers("/api/pdf-jobs/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/students/**").hasAnyRole("STUDENT", "ADMIN")
                 .requestMatchers("/api/programs/**").hasAnyRole("STUDENT", "ADMIN")
                 .requestMatchers("/api/courses/**").hasAnyRole("STUDENT", "ADMIN")
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            // Shed before authentication, whose user lookups already need the database
+            .addFilterBefore(loadSheddingFilter, JwtAuthFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthFilter.class)
             .cors(Customizer.withDefaults())
             .csrf(csrf -> csrf.disable())
             .build();
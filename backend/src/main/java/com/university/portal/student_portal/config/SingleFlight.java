@@ -0,0 +1,26 @@
+package com.university.portal.student_portal.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls with equal arguments share one invocation: the first caller runs the method
+ * and the others wait for its result or exception. With a {@link #ttl} the result is also reused
+ * by calls arriving shortly after. Only for methods whose result depends on the arguments alone,
+ * not on the caller, and whose result is not modified by callers, since they all get the same
+ * instance. Applies to calls through the Spring proxy, like {@code @Transactional}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    /**
+     * How long a finished result is reused, e.g. {@code "5s"}; property placeholders are
+     * resolved. The default only shares calls that overlap.
+     */
+    String ttl() default "0s";
+}
@@ -0,0 +1,116 @@
+package com.university.portal.student_portal.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Implements {@link SingleFlight}. Calls are keyed by method signature and arguments. Runs
+ * outside transactions and caching so waiting callers never hold a connection of their own.
+ * Publishes singleflight.calls{method,outcome=executed|shared|cached}.
+ */
+@Aspect
+@Component
+// Ahead of the transaction and cache interceptors, which default to the lowest precedence
+@Order(0)
+public class SingleFlightAspect implements EmbeddedValueResolverAware {
+
+    private record Key(String method, List<Object> args) {
+    }
+
+    private record Result(Object value, Duration ttl) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Duration> ttls = new ConcurrentHashMap<>();
+    private final Cache<Key, Result> results = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfter(Expiry.<Key, Result>creating((key, result) -> result.ttl()))
+            .build();
+    private StringValueResolver valueResolver;
+
+    public SingleFlightAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Around("@annotation(singleFlight)")
+    public Object coalesce(ProceedingJoinPoint call, SingleFlight singleFlight) throws Throwable {
+        String method = call.getSignature().toShortString();
+        Key key = new Key(call.getSignature().toLongString(), Arrays.asList(call.getArgs().clone()));
+
+        Result cached = results.getIfPresent(key);
+        if (cached != null) {
+            count(method, "cached");
+            return cached.value();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            count(method, "shared");
+            return await(leader);
+        }
+
+        count(method, "executed");
+        try {
+            Object value = call.proceed();
+            Duration ttl = ttls.computeIfAbsent(singleFlight.ttl(), this::parseTtl);
+            if (!ttl.isZero()) {
+                results.put(key, new Result(value, ttl));
+            }
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws Throwable {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            // Same exception the leader's caller saw
+            throw e.getCause();
+        }
+    }
+
+    private Duration parseTtl(String ttl) {
+        return DurationStyle.detectAndParse(valueResolver != null ? valueResolver.resolveStringValue(ttl) : ttl);
+    }
+
+    private void count(String method, String outcome) {
+        Counter.builder("singleflight.calls")
+                .description("Calls to @SingleFlight methods by how they were answered")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
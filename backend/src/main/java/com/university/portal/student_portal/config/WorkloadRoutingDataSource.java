@@ -0,0 +1,32 @@
+package com.university.portal.student_portal.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The primary database, split into a pool for interactive requests and one for {@link BatchWork},
+ * so a long import or recompute can use up its own pool but never the one serving students.
+ */
+class WorkloadRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource oltp;
+    private final DataSource batch;
+
+    WorkloadRoutingDataSource(DataSource oltp, DataSource batch) {
+        this.oltp = oltp;
+        this.batch = batch;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return (BatchWork.isActive() ? batch : oltp).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (BatchWork.isActive() ? batch : oltp).getConnection(username, password);
+    }
+}
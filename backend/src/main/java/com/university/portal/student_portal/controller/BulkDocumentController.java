@@ -0,0 +1,88 @@
+package com.university.portal.student_portal.controller;
+
+import com.university.portal.student_portal.config.Bulkhead;
+import com.university.portal.student_portal.dto.BulkDocumentJobDTO;
+import com.university.portal.student_portal.service.BulkDocumentService;
+import com.university.portal.student_portal.service.BulkDocumentService.BulkDocumentJob;
+import com.university.portal.student_portal.service.BulkDocumentService.DocumentType;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/bulk-documents")
+@RequiredArgsConstructor
+public class BulkDocumentController {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final BulkDocumentService bulkDocumentService;
+
+    // Streams the archive while it is being built; documents=TRANSCRIPT,CERTIFICATE (default both)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Bulkhead("bulk")
+    @GetMapping("/zip")
+    public void downloadZip(@RequestParam(required = false) Long programId,
+                            @RequestParam(required = false) Long trimesterId,
+                            @RequestParam(required = false) Integer cohortYear,
+                            @RequestParam(required = false) List<String> documents,
+                            HttpServletResponse response) throws IOException {
+        Set<DocumentType> types;
+        try {
+            types = BulkDocumentService.parseDocuments(documents);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        BulkDocumentJob job = bulkDocumentService.createJob(programId, trimesterId, cohortYear);
+        response.setContentType(APPLICATION_ZIP.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=documents.zip");
+        response.setHeader("X-Job-Id", job.getId());
+        bulkDocumentService.writeZip(job, types, response.getOutputStream());
+    }
+
+    // Builds the archive in the background; poll the job and fetch it from /download when ready
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/jobs")
+    public ResponseEntity<BulkDocumentJobDTO> startExport(@RequestParam(required = false) Long programId,
+                                                         @RequestParam(required = false) Long trimesterId,
+                                                         @RequestParam(required = false) Integer cohortYear,
+                                                         @RequestParam(required = false) List<String> documents) {
+        try {
+            Set<DocumentType> types = BulkDocumentService.parseDocuments(documents);
+            return ResponseEntity.accepted().body(bulkDocumentService.startFileExport(programId, trimesterId, cohortYear, types));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BulkDocumentJobDTO> getJob(@PathVariable String jobId) {
+        return bulkDocumentService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Bulkhead("bulk")
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String jobId) {
+        return bulkDocumentService.getExportFile(jobId)
+                .<ResponseEntity<Resource>>map(file -> ResponseEntity.ok()
+                        .contentType(APPLICATION_ZIP)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=documents-" + jobId + ".zip")
+                        .body(new FileSystemResource(file)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
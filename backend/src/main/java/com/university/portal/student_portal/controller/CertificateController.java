@@ -1,23 +1,42 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.config.Bulkhead;
+import com.university.portal.student_portal.dto.CertificateVerificationDTO;
+import com.university.portal.student_portal.dto.CertificateVerificationRequest;
 import com.university.portal.student_portal.service.CertificateService;
+import com.university.portal.student_portal.service.CertificateSigner;
+import com.university.portal.student_portal.service.PdfRenderQueue;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/certificate")
 @RequiredArgsConstructor
 public class CertificateController {
     private final CertificateService certificateService;
+    private final PdfRenderQueue pdfRenderQueue;
+    private final CertificateSigner certificateSigner;
 
+    // Waits for the render up to portal.pdf-render.wait-timeout; async=true returns a job to poll straight away
     // @PreAuthorize("hasRole('STUDENT')")
+    @Bulkhead("pdf")
     @GetMapping("/me/pdf")
-    public ResponseEntity<byte[]> downloadCertificatePdf(Authentication authentication) {
+    public void downloadCertificatePdf(Authentication authentication,
+                                       @RequestParam(defaultValue = "false") boolean async,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
         String registrationNumber;
         if (authentication != null) {
             registrationNumber = authentication.getName();
@@ -26,13 +45,41 @@ public class CertificateController {
             registrationNumber = "21/04956";
         }
         try {
-            byte[] pdf = certificateService.generateCertificatePdfByRegistrationNumber(registrationNumber);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=certificate.pdf")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(pdf);
+            PdfDownloads.sendWhenReady(pdfRenderQueue, certificateService.renderCertificatePdfByRegistrationNumber(registrationNumber),
+                    registrationNumber, "certificate.pdf", async, request, response);
+        } catch (RejectedExecutionException e) {
+            PdfDownloads.renderQueueFull(response);
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
-} 
\ No newline at end of file
+
+    // Public: one indexed lookup by serial. Issued certificates never change, so answers may be cached
+    @GetMapping("/verify/{serial}")
+    public ResponseEntity<CertificateVerificationDTO> verifyBySerial(@PathVariable String serial) {
+        return certificateService.verifyBySerial(serial)
+                .map(result -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                        .body(result))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new CertificateVerificationDTO(false, serial, null, null, null)));
+    }
+
+    // Public: checks the printed fields and verification code against the signature, without the database
+    @PostMapping("/verify")
+    public CertificateVerificationDTO verifySignature(@RequestBody CertificateVerificationRequest request) {
+        return certificateService.verifySignature(request);
+    }
+
+    // Public: lets third parties verify certificates entirely offline
+    @GetMapping("/public-key")
+    public ResponseEntity<Map<String, String>> getPublicKey() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
+                .body(Map.of("algorithm", certificateSigner.getAlgorithm(), "keyId", certificateSigner.getKeyId(),
+                        "publicKey", certificateSigner.getPublicKey()));
+    }
+}
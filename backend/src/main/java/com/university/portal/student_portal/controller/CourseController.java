@@ -18,10 +18,7 @@ public class CourseController {
 
     @GetMapping
     public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        List<CourseDTO> dtos = courseService.getAllCourses().stream()
-            .map(CourseDTO::fromEntity)
-            .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(courseService.getAllCourses());
     }
 
     @GetMapping("/{id}")
@@ -1,5 +1,6 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.config.Bulkhead;
 import com.university.portal.student_portal.service.CsvService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -15,6 +16,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
+@Bulkhead("bulk")
 @RequestMapping("/api/csv")
 @RequiredArgsConstructor
 public class CsvController {
@@ -0,0 +1,57 @@
+package com.university.portal.student_portal.controller;
+
+import com.university.portal.student_portal.config.Bulkhead;
+import com.university.portal.student_portal.dto.DegreeAuditDTO;
+import com.university.portal.student_portal.service.DegreeAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/degree-audits")
+@RequiredArgsConstructor
+public class DegreeAuditController {
+
+    private final DegreeAuditService degreeAuditService;
+
+    @PreAuthorize("hasAnyRole('STUDENT', 'ADMIN')")
+    @GetMapping("/student/{studentId}")
+    public List<DegreeAuditDTO> getAuditsByStudent(@PathVariable Long studentId) {
+        return degreeAuditService.getAuditsByStudent(studentId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/program/{programId}/clearance")
+    public List<DegreeAuditDTO> getGraduationClearance(
+            @PathVariable Long programId,
+            @RequestParam(defaultValue = "false") boolean clearedOnly
+    ) {
+        return degreeAuditService.getAuditsByProgram(programId)
+                .stream()
+                .filter(audit -> !clearedOnly || audit.isCoreRequirementsMet())
+                .toList();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/student/{studentId}/recompute")
+    public List<DegreeAuditDTO> recomputeStudent(@PathVariable Long studentId) {
+        degreeAuditService.recomputeStudent(studentId);
+        return degreeAuditService.getAuditsByStudent(studentId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Bulkhead("bulk")
+    @PostMapping("/recompute")
+    public ResponseEntity<Map<String, Object>> recomputeAll() {
+        long start = System.currentTimeMillis();
+        int students = degreeAuditService.recomputeAll();
+        return ResponseEntity.ok(Map.of(
+                "studentsProcessed", students,
+                "durationMs", System.currentTimeMillis() - start
+        ));
+    }
+}
@@ -0,0 +1,45 @@
+package com.university.portal.student_portal.controller;
+
+import com.university.portal.student_portal.config.Bulkhead;
+import com.university.portal.student_portal.dto.GpaDTO;
+import com.university.portal.student_portal.service.GpaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/gpa")
+@RequiredArgsConstructor
+public class GpaController {
+
+    private final GpaService gpaService;
+
+    @PreAuthorize("hasAnyRole('STUDENT', 'ADMIN')")
+    @GetMapping("/student/{studentId}")
+    public GpaDTO getGpa(@PathVariable Long studentId) {
+        return gpaService.getGpa(studentId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/student/{studentId}/recompute")
+    public GpaDTO recomputeStudent(@PathVariable Long studentId) {
+        gpaService.recomputeStudent(studentId);
+        return gpaService.getGpa(studentId);
+    }
+
+    // Run after changing portal.grading.points so stored totals reflect the new scale
+    @PreAuthorize("hasRole('ADMIN')")
+    @Bulkhead("bulk")
+    @PostMapping("/recompute")
+    public ResponseEntity<Map<String, Object>> recomputeAll() {
+        long start = System.currentTimeMillis();
+        int students = gpaService.recomputeAll();
+        return ResponseEntity.ok(Map.of(
+                "studentsProcessed", students,
+                "durationMs", System.currentTimeMillis() - start
+        ));
+    }
+}
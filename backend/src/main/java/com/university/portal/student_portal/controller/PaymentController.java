@@ -1,5 +1,6 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.config.Bulkhead;
 import com.university.portal.student_portal.dto.PaymentDto;
 import com.university.portal.student_portal.entity.Payment;
 import com.university.portal.student_portal.service.PaymentService;
@@ -53,6 +54,7 @@ public class PaymentController {
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @Bulkhead("reports")
     @GetMapping("/date-range")
     public ResponseEntity<List<PaymentDto>> getPaymentsInDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
@@ -108,6 +110,7 @@ public class PaymentController {
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @Bulkhead("reports")
     @GetMapping("/total-in-date-range")
     public ResponseEntity<BigDecimal> getTotalPaymentsInDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
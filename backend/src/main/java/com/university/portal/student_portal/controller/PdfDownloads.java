@@ -0,0 +1,156 @@
+package com.university.portal.student_portal.controller;
+
+import com.university.portal.student_portal.service.PdfFileCache.CachedPdf;
+import com.university.portal.student_portal.service.PdfRenderQueue;
+import com.university.portal.student_portal.service.PdfRenderQueue.RenderJob;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends a cached PDF file with conditional-request and single byte-range support. When the
+ * container offers sendfile (Tomcat NIO) the kernel copies the file to the socket; otherwise
+ * the bytes go through FileChannel.transferTo without buffering the document on the heap.
+ */
+final class PdfDownloads {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private PdfDownloads() {
+    }
+
+    /**
+     * Sends the document if it renders within the queue's wait timeout. Otherwise, straight away
+     * when the client asked for {@code async}, or when too many requests are already waiting,
+     * answers 202 with a render job to poll.
+     */
+    static void sendWhenReady(PdfRenderQueue queue, CompletableFuture<CachedPdf> pdf, String owner, String filename,
+                              boolean async, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CachedPdf rendered = !async || pdf.isDone() ? await(queue, pdf) : null;
+        if (rendered != null) {
+            CompletableFuture<CachedPdf> current = queue.revalidate(rendered);
+            if (current.isDone()) {
+                send(current.join(), filename, request, response);
+                return;
+            }
+            // Evicted since it was rendered; the job follows the new render
+            pdf = current;
+        }
+        RenderJob job = queue.track(owner, filename, pdf);
+        renderPending(job.id(), response);
+    }
+
+    // The rendered document, or null when it is not ready in time or no waiter slot is free
+    private static CachedPdf await(PdfRenderQueue queue, CompletableFuture<CachedPdf> pdf) throws IOException {
+        boolean waiting = !pdf.isDone();
+        if (waiting && !queue.startWaiting()) {
+            return null;
+        }
+        try {
+            return pdf.get(queue.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still rendering; hand the client a job instead of holding the request thread
+            return null;
+        } catch (ExecutionException e) {
+            throw new IOException("PDF rendering failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for PDF rendering", e);
+        } finally {
+            if (waiting) {
+                queue.stopWaiting();
+            }
+        }
+    }
+
+    static void renderPending(String jobId, HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        response.setHeader(HttpHeaders.LOCATION, "/api/pdf-jobs/" + jobId);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "2");
+    }
+
+    static void renderQueueFull(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+    }
+
+    static void send(CachedPdf pdf, String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Sets ETag/Last-Modified and answers 304 for matching If-None-Match or If-Modified-Since
+        if (new ServletWebRequest(request, response).checkNotModified(pdf.etag(), pdf.lastModified())) {
+            return;
+        }
+
+        long length = pdf.length();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(pdf.etag()))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // Multiple ranges are answered with the whole document, which the spec allows
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        throw new IllegalArgumentException("Range not satisfiable: " + range);
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, pdf.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(pdf.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.university.portal.student_portal.controller;
+
+import com.university.portal.student_portal.config.Bulkhead;
+import com.university.portal.student_portal.dto.PdfRenderJobDTO;
+import com.university.portal.student_portal.service.PdfFileCache.CachedPdf;
+import com.university.portal.student_portal.service.PdfRenderQueue;
+import com.university.portal.student_portal.service.PdfRenderQueue.RenderJob;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+// Render jobs handed out by the PDF download endpoints when a document is not ready in time
+@RestController
+@RequestMapping("/api/pdf-jobs")
+@RequiredArgsConstructor
+public class PdfJobController {
+    private final PdfRenderQueue pdfRenderQueue;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PdfRenderJobDTO> getJob(@PathVariable String jobId, Authentication authentication) {
+        return pdfRenderQueue.getJob(jobId, owner(authentication))
+                .map(job -> ResponseEntity.ok(PdfRenderQueue.toDto(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Bulkhead("pdf")
+    @GetMapping("/{jobId}/download")
+    public void download(@PathVariable String jobId, Authentication authentication,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<RenderJob> job = pdfRenderQueue.getJob(jobId, owner(authentication));
+        if (job.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!job.get().result().isDone()) {
+            PdfDownloads.renderPending(jobId, response);
+            return;
+        }
+        if (job.get().result().isCompletedExceptionally()) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        CompletableFuture<CachedPdf> current;
+        try {
+            current = pdfRenderQueue.revalidate(job.get().result().join());
+        } catch (RejectedExecutionException e) {
+            PdfDownloads.renderQueueFull(response);
+            return;
+        }
+        if (!current.isDone()) {
+            // Evicted since it was rendered; the job follows the new render
+            pdfRenderQueue.retrack(job.get(), current);
+            PdfDownloads.renderPending(jobId, response);
+            return;
+        }
+        PdfDownloads.send(current.join(), job.get().filename(), request, response);
+    }
+
+    private String owner(Authentication authentication) {
+        if (authentication != null) {
+            return authentication.getName();
+        }
+        // For testing purposes, use a default registration number
+        return "21/04956";
+    }
+}
@@ -18,10 +18,7 @@ public class ProgramController {
 
     @GetMapping
     public ResponseEntity<List<ProgramDTO>> getAllPrograms() {
-        List<ProgramDTO> dtos = programService.getAllPrograms().stream()
-            .map(ProgramDTO::fromEntity)
-            .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(programService.getAllPrograms());
     }
 
     @GetMapping("/{id}")
@@ -1,19 +1,30 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.dto.CourseEligibilityDTO;
+import com.university.portal.student_portal.dto.MeetingSlotDTO;
 import com.university.portal.student_portal.dto.TrimesterDTO;
+import com.university.portal.student_portal.entity.MeetingSlot;
 import com.university.portal.student_portal.entity.ProgramCourse;
 import com.university.portal.student_portal.entity.Program;
 import com.university.portal.student_portal.entity.Course;
 import com.university.portal.student_portal.entity.Trimester;
+import com.university.portal.student_portal.service.CatalogResponseCache;
 import com.university.portal.student_portal.service.ProgramCourseService;
 import com.university.portal.student_portal.service.ProgramService;
 import com.university.portal.student_portal.service.CourseService;
+import com.university.portal.student_portal.service.PrerequisiteService;
+import com.university.portal.student_portal.service.TimetableService;
 import com.university.portal.student_portal.service.TrimesterService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +37,9 @@ public class ProgramCourseController {
     private final ProgramService programService;
     private final CourseService courseService;
     private final TrimesterService trimesterService;
+    private final PrerequisiteService prerequisiteService;
+    private final TimetableService timetableService;
+    private final CatalogResponseCache catalogResponseCache;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -56,15 +70,28 @@ public class ProgramCourseController {
         }
     }
 
+    // Same payload for every student in the program, so it is served as cached JSON bytes
     @GetMapping("/program/{programId}/trimester/{trimesterId}")
-    public List<TrimesterDTO.ProgramCourseDTO> getCoursesByProgramAndTrimester(
+    public void getCoursesByProgramAndTrimester(
             @PathVariable Long programId,
-            @PathVariable Long trimesterId
+            @PathVariable Long trimesterId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        CatalogResponses.send(catalogResponseCache.get("program-courses/" + programId + "/" + trimesterId,
+                () -> programCourseService.getCoursesByProgramAndTrimester(programId, trimesterId)
+                        .stream()
+                        .map(TrimesterDTO.ProgramCourseDTO::fromEntity)
+                        .toList()), request, response);
+    }
+
+    @GetMapping("/program/{programId}/trimester/{trimesterId}/eligibility")
+    public List<CourseEligibilityDTO> getEligibility(
+            @PathVariable Long programId,
+            @PathVariable Long trimesterId,
+            @RequestParam Long studentId
     ) {
-        return programCourseService.getCoursesByProgramAndTrimester(programId, trimesterId)
-                .stream()
-                .map(TrimesterDTO.ProgramCourseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return prerequisiteService.getEligibility(studentId, programId, trimesterId);
     }
 
     @GetMapping("/trimester/{trimesterId}")
@@ -97,11 +124,49 @@ public class ProgramCourseController {
         try {
             ProgramCourse programCourse = programCourseService.updateProgramCourse(id, updatedProgramCourse);
             return ResponseEntity.ok(TrimesterDTO.ProgramCourseDTO.fromEntity(programCourse));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @GetMapping("/{id}/meeting-slots")
+    public List<MeetingSlotDTO> getMeetingSlots(@PathVariable Long id) {
+        return timetableService.getSlotsByProgramCourse(id);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/meeting-slots")
+    public ResponseEntity<?> addMeetingSlot(
+            @PathVariable Long id,
+            @RequestParam DayOfWeek dayOfWeek,
+            @RequestParam LocalTime startTime,
+            @RequestParam LocalTime endTime,
+            @RequestParam(required = false) String room,
+            @RequestParam(required = false) String lecturer
+    ) {
+        try {
+            ProgramCourse programCourse = programCourseService.getProgramCourseById(id)
+                    .orElseThrow(() -> new RuntimeException("Program course not found"));
+            MeetingSlot slot = timetableService.addSlot(programCourse, dayOfWeek, startTime, endTime, room, lecturer);
+            return ResponseEntity.ok(new MeetingSlotDTO(slot.getId(), programCourse.getId(),
+                    programCourse.getCourse().getCourseCode(), slot.getDayOfWeek(), slot.getStartTime(),
+                    slot.getEndTime(), slot.getRoom(), slot.getLecturer()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/meeting-slots/{slotId}")
+    public ResponseEntity<Void> deleteMeetingSlot(@PathVariable Long slotId) {
+        timetableService.deleteSlot(slotId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProgramCourse(@PathVariable Long id) {
@@ -1,5 +1,6 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.config.Bulkhead;
 import com.university.portal.student_portal.dto.EnrollmentsByProgramReport;
 import com.university.portal.student_portal.dto.FeeStatusResponse;
 import com.university.portal.student_portal.dto.PaymentsSummaryReport;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
 
 @RestController
+@Bulkhead("reports")
 @RequestMapping("/api/reports")
 @RequiredArgsConstructor
 public class ReportController {
@@ -1,9 +1,13 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.dto.BulkGradeResultDTO;
+import com.university.portal.student_portal.dto.GradeEntryDTO;
 import com.university.portal.student_portal.dto.StudentCourseEnrollmentDTO;
 import com.university.portal.student_portal.entity.StudentCourseEnrollment;
 import com.university.portal.student_portal.entity.Student;
 import com.university.portal.student_portal.entity.ProgramCourse;
+import com.university.portal.student_portal.service.GradeIngestionService;
+import com.university.portal.student_portal.service.GradeCsvService;
 import com.university.portal.student_portal.service.StudentCourseEnrollmentService;
 import com.university.portal.student_portal.service.StudentService;
 import com.university.portal.student_portal.service.ProgramCourseService;
@@ -11,7 +15,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +29,8 @@ public class StudentCourseEnrollmentController {
     private final StudentCourseEnrollmentService studentCourseEnrollmentService;
     private final StudentService studentService;
     private final ProgramCourseService programCourseService;
+    private final GradeIngestionService gradeIngestionService;
+    private final GradeCsvService gradeCsvService;
 
     @PreAuthorize("hasRole('STUDENT')")
     @PostMapping
@@ -111,11 +119,36 @@ public class StudentCourseEnrollmentController {
         try {
             StudentCourseEnrollment enrollment = studentCourseEnrollmentService.updateGrade(id, grade, score);
             return ResponseEntity.ok(StudentCourseEnrollmentDTO.fromEntity(enrollment));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/program-course/{programCourseId}/grades")
+    public ResponseEntity<BulkGradeResultDTO> postGrades(
+            @PathVariable Long programCourseId,
+            @RequestBody List<GradeEntryDTO> entries
+    ) {
+        BulkGradeResultDTO result = gradeIngestionService.postGrades(programCourseId, entries);
+        return result.getErrors().isEmpty() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/program-course/{programCourseId}/grades/csv")
+    public ResponseEntity<BulkGradeResultDTO> postGradesFromCsv(
+            @PathVariable Long programCourseId,
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new BulkGradeResultDTO(0, 0, 0, List.of("Error: Please select a file to upload")));
+        }
+        BulkGradeResultDTO result = gradeCsvService.postGradesFromCsv(programCourseId, file);
+        return result.getErrors().isEmpty() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     @PreAuthorize("hasRole('STUDENT')")
     @PostMapping("/{id}/drop")
     public ResponseEntity<Void> dropCourse(@PathVariable Long id) {
@@ -1,20 +1,27 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.config.Bulkhead;
 import com.university.portal.student_portal.dto.TranscriptDTO;
 import com.university.portal.student_portal.service.TranscriptService;
+import com.university.portal.student_portal.service.PdfRenderQueue;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/transcript")
 @RequiredArgsConstructor
 public class TranscriptController {
     private final TranscriptService transcriptService;
+    private final PdfRenderQueue pdfRenderQueue;
 
     // @PreAuthorize("hasRole('STUDENT')")
     @GetMapping("/me")
@@ -26,12 +33,22 @@ public class TranscriptController {
             // For testing purposes, use a default registration number
             registrationNumber = "21/04956";
         }
-        return ResponseEntity.ok(transcriptService.getTranscriptByRegistrationNumber(registrationNumber));
+        TranscriptService.CachedTranscript transcript = transcriptService.getCachedTranscriptByRegistrationNumber(registrationNumber);
+        // A matching If-None-Match is answered with 304 by Spring once the ETag is set
+        return ResponseEntity.ok()
+                .eTag(transcript.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(transcript.transcript());
     }
 
+    // Waits for the render up to portal.pdf-render.wait-timeout; async=true returns a job to poll straight away
     // @PreAuthorize("hasRole('STUDENT')")
+    @Bulkhead("pdf")
     @GetMapping("/me/pdf")
-    public ResponseEntity<byte[]> downloadTranscriptPdf(Authentication authentication) {
+    public void downloadTranscriptPdf(Authentication authentication,
+                                      @RequestParam(defaultValue = "false") boolean async,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
         String registrationNumber;
         if (authentication != null) {
             registrationNumber = authentication.getName();
@@ -40,13 +57,15 @@ public class TranscriptController {
             registrationNumber = "21/04956";
         }
         try {
-            byte[] pdf = transcriptService.generateTranscriptPdfByRegistrationNumber(registrationNumber);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transcript.pdf")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(pdf);
+            PdfDownloads.sendWhenReady(pdfRenderQueue, transcriptService.renderTranscriptPdfByRegistrationNumber(registrationNumber),
+                    registrationNumber, "transcript.pdf", async, request, response);
+        } catch (RejectedExecutionException e) {
+            PdfDownloads.renderQueueFull(response);
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,13 +1,19 @@
 package com.university.portal.student_portal.controller;
 
+import com.university.portal.student_portal.dto.TimetableClashDTO;
 import com.university.portal.student_portal.dto.TrimesterDTO;
 import com.university.portal.student_portal.entity.Trimester;
+import com.university.portal.student_portal.service.CatalogResponseCache;
+import com.university.portal.student_portal.service.TimetableService;
 import com.university.portal.student_portal.service.TrimesterService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,6 +23,8 @@ import java.util.stream.Collectors;
 public class TrimesterController {
 
     private final TrimesterService trimesterService;
+    private final TimetableService timetableService;
+    private final CatalogResponseCache catalogResponseCache;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -29,37 +37,41 @@ public class TrimesterController {
         }
     }
 
+    // The list endpoints below are served as cached JSON bytes; see CatalogResponseCache
     @GetMapping
-    public List<TrimesterDTO> getAllTrimesters() {
-        return trimesterService.getAllTrimesters()
-                .stream()
-                .map(TrimesterDTO::fromEntity)
-                .collect(java.util.stream.Collectors.toList());
+    public void getAllTrimesters(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CatalogResponses.send(catalogResponseCache.get("trimesters",
+                () -> trimesterService.getAllTrimesters()
+                        .stream()
+                        .map(TrimesterDTO::fromEntity)
+                        .toList()), request, response);
     }
 
     @GetMapping("/active")
-    public List<TrimesterDTO> getActiveTrimesters() {
-        return trimesterService.getActiveTrimesters()
-                .stream()
-                .map(TrimesterDTO::fromEntity)
-                .collect(java.util.stream.Collectors.toList());
+    public void getActiveTrimesters(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CatalogResponses.send(catalogResponseCache.get("trimesters/active",
+                trimesterService::getActiveTrimesters), request, response);
     }
 
     @GetMapping("/type/{periodType}")
-    public List<TrimesterDTO> getTrimestersByType(@PathVariable String periodType) {
+    public void getTrimestersByType(@PathVariable String periodType,
+                                    HttpServletRequest request, HttpServletResponse response) throws IOException {
         Trimester.AcademicPeriodType type = Trimester.AcademicPeriodType.valueOf(periodType.toUpperCase());
-        return trimesterService.getTrimestersByType(type)
-                .stream()
-                .map(TrimesterDTO::fromEntity)
-                .collect(Collectors.toList());
+        CatalogResponses.send(catalogResponseCache.get("trimesters/type/" + type,
+                () -> trimesterService.getTrimestersByType(type)
+                        .stream()
+                        .map(TrimesterDTO::fromEntity)
+                        .toList()), request, response);
     }
 
     @GetMapping("/year/{academicYear}")
-    public List<TrimesterDTO> getTrimestersByAcademicYear(@PathVariable String academicYear) {
-        return trimesterService.getTrimestersByAcademicYear(academicYear)
-                .stream()
-                .map(TrimesterDTO::fromEntity)
-                .collect(Collectors.toList());
+    public void getTrimestersByAcademicYear(@PathVariable String academicYear,
+                                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CatalogResponses.send(catalogResponseCache.get("trimesters/year/" + academicYear,
+                () -> trimesterService.getTrimestersByAcademicYear(academicYear)
+                        .stream()
+                        .map(TrimesterDTO::fromEntity)
+                        .toList()), request, response);
     }
 
     @GetMapping("/{id}")
@@ -96,6 +108,12 @@ public class TrimesterController {
         return ResponseEntity.noContent().build();
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}/timetable-clashes")
+    public List<TimetableClashDTO> getTimetableClashes(@PathVariable Long id) {
+        return timetableService.findTrimesterClashes(id);
+    }
+
     @GetMapping("/current")
     public List<TrimesterDTO> getCurrentTrimesters() {
         return trimesterService.getCurrentTrimesters()
@@ -0,0 +1,23 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDocumentJobDTO {
+    private String id;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private int totalStudents;
+    private int completedStudents;
+    private int failedStudents;
+    private List<String> errors;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private boolean downloadReady;
+}
@@ -0,0 +1,17 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkGradeResultDTO {
+    private int rowsReceived;
+    private int updated;
+    private int studentsRecomputed;
+    private List<String> errors;
+}
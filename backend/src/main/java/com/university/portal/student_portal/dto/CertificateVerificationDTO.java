@@ -0,0 +1,18 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateVerificationDTO {
+    private boolean valid;
+    private String serial;
+    private String fullName;
+    private String registrationNumber;
+    private LocalDateTime issuedAt;
+}
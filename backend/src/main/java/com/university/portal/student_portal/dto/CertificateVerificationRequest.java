@@ -0,0 +1,15 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// The fields printed on a certificate, as typed in by whoever is verifying it
+@Data
+public class CertificateVerificationRequest {
+    private String serial;
+    private String registrationNumber;
+    private String fullName;
+    private LocalDateTime issuedAt;
+    private String signature;
+}
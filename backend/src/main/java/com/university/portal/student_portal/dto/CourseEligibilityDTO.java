@@ -0,0 +1,18 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseEligibilityDTO {
+    private Long programCourseId;
+    private String courseCode;
+    private String courseTitle;
+    private boolean eligible;
+    private List<String> missingPrerequisites;
+}
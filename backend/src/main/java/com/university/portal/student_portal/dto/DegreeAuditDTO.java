@@ -0,0 +1,24 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DegreeAuditDTO {
+    private Long studentId;
+    private String registrationNumber;
+    private Long programId;
+    private String programCode;
+    private int coreCreditsRequired;
+    private int coreCreditsCompleted;
+    private int electiveCreditsCompleted;
+    private int creditsFailed;
+    private int coreCreditsRemaining;
+    private boolean coreRequirementsMet;
+    private LocalDateTime updatedAt;
+}
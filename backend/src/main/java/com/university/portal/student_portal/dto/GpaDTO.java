@@ -0,0 +1,30 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GpaDTO {
+    private Long studentId;
+    private Double cumulativeGpa;
+    private double qualityPoints;
+    private int creditsAttempted;
+    private List<TermGpaDTO> terms;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TermGpaDTO {
+        private Long trimesterId;
+        private String trimesterName;
+        private String academicYear;
+        private Double gpa;
+        private double qualityPoints;
+        private int creditsAttempted;
+    }
+}
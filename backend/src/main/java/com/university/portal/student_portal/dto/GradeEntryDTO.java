@@ -0,0 +1,15 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeEntryDTO {
+    private Long enrollmentId; // either the enrollment id...
+    private String registrationNumber; // ...or the student's registration number
+    private String grade;
+    private Double score;
+}
@@ -0,0 +1,18 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfRenderJobDTO {
+    private String id;
+    private String status; // PENDING, READY, FAILED
+    private String filename;
+    private LocalDateTime submittedAt;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimetableClashDTO {
+    private ClashType type;
+    private String resource; // room or lecturer; null for a student's own cart
+    private MeetingSlotDTO first;
+    private MeetingSlotDTO second;
+
+    public enum ClashType {
+        COURSE,
+        ROOM,
+        LECTURER
+    }
+}
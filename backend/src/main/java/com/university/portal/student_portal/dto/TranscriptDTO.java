@@ -23,5 +23,7 @@ public class TranscriptDTO {
         private String courseCode;
         private String courseTitle;
         private String grade;
+        private String trimester;
+        private Integer creditHours;
     }
 } 
\ No newline at end of file
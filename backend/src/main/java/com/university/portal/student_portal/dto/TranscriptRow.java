@@ -0,0 +1,21 @@
+package com.university.portal.student_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of the flattened student/enrollment/grade/program join behind a transcript
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptRow {
+    private Long studentId;
+    private String studentName;
+    private String registrationNumber;
+    private String programTitle;
+    private String courseCode;
+    private String courseTitle;
+    private String grade;
+    private String trimesterName;
+    private Integer creditHours;
+}
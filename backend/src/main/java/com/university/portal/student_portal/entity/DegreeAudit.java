@@ -0,0 +1,46 @@
+package com.university.portal.student_portal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "degree_audits",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "program_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DegreeAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id")
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "program_id")
+    private Program program;
+
+    @Column(name = "core_credits_completed", nullable = false)
+    private int coreCreditsCompleted;
+
+    @Column(name = "elective_credits_completed", nullable = false)
+    private int electiveCreditsCompleted;
+
+    @Column(name = "credits_failed", nullable = false)
+    private int creditsFailed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,50 @@
+package com.university.portal.student_portal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A certificate as issued, kept so employers can verify it by serial after the student record changes
+@Entity
+@Table(name = "issued_certificates",
+       uniqueConstraints = {
+               @UniqueConstraint(columnNames = {"serial"}),
+               // One certificate per name and registration number, even when two requests issue it at once
+               @UniqueConstraint(columnNames = {"student_id", "full_name", "registration_number"})
+       },
+       indexes = @Index(name = "idx_issued_certificate_student", columnList = "student_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IssuedCertificate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String serial;
+
+    // Plain id rather than a foreign key so issued certificates survive the student being deleted
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "full_name", nullable = false)
+    private String fullName;
+
+    @Column(name = "registration_number", nullable = false)
+    private String registrationNumber;
+
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    // Base64url Ed25519 signature over CertificateSigner.payload(...)
+    @Column(nullable = false, length = 128)
+    private String signature;
+
+    // CertificateSigner key id the signature was made with; null on rows issued before key ids were stored
+    @Column(name = "key_id", length = 32)
+    private String keyId;
+}
@@ -0,0 +1,39 @@
+package com.university.portal.student_portal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Entity
+@Table(name = "meeting_slots", indexes = @Index(columnList = "program_course_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MeetingSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "program_course_id")
+    @ToString.Exclude
+    private ProgramCourse programCourse;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    private String room; // e.g., "LT-2"
+
+    private String lecturer;
+}
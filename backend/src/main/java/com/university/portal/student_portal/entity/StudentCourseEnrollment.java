@@ -6,6 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "student_course_enrollment", indexes = {
+        @Index(name = "idx_sce_student_status", columnList = "student_id, status"),
+        @Index(name = "idx_sce_program_course", columnList = "program_course_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,7 +35,7 @@ public class StudentCourseEnrollment {
     @Column(nullable = false)
     private EnrollmentStatus status = EnrollmentStatus.ENROLLED;
 
-    private String grade; // A, B, C, D, F, etc.
+    private String grade; // A, B, C, D, F, etc. The only place grades are stored
 
     private Double score; // Numerical score
 
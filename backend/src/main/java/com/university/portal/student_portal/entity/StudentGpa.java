@@ -0,0 +1,40 @@
+package com.university.portal.student_portal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Running cumulative quality points and credits for one student
+@Entity
+@Table(name = "student_gpas",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentGpa {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id")
+    private Student student;
+
+    @Column(name = "quality_points", nullable = false)
+    private double qualityPoints;
+
+    @Column(name = "credits_attempted", nullable = false)
+    private int creditsAttempted;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package com.university.portal.student_portal.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Running quality points and credits for one student in one trimester
+@Entity
+@Table(name = "term_gpas",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "trimester_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TermGpa {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id")
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "trimester_id")
+    private Trimester trimester;
+
+    @Column(name = "quality_points", nullable = false)
+    private double qualityPoints;
+
+    @Column(name = "credits_attempted", nullable = false)
+    private int creditsAttempted;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
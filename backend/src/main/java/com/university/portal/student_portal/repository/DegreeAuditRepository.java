@@ -0,0 +1,31 @@
+package com.university.portal.student_portal.repository;
+
+import com.university.portal.student_portal.entity.DegreeAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DegreeAuditRepository extends JpaRepository<DegreeAudit, Long> {
+    List<DegreeAudit> findByStudentId(Long studentId);
+    List<DegreeAudit> findByProgramId(Long programId);
+    List<DegreeAudit> findByStudentIdIn(Collection<Long> studentIds);
+    Optional<DegreeAudit> findByStudentIdAndProgramId(Long studentId, Long programId);
+
+    @Modifying
+    @Query("UPDATE DegreeAudit a SET " +
+           "a.coreCreditsCompleted = a.coreCreditsCompleted + :coreDelta, " +
+           "a.electiveCreditsCompleted = a.electiveCreditsCompleted + :electiveDelta, " +
+           "a.creditsFailed = a.creditsFailed + :failedDelta, " +
+           "a.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE a.student.id = :studentId AND a.program.id = :programId")
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("programId") Long programId,
+                   @Param("coreDelta") int coreDelta,
+                   @Param("electiveDelta") int electiveDelta,
+                   @Param("failedDelta") int failedDelta);
+}
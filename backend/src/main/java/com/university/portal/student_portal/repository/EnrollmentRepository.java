@@ -2,6 +2,8 @@ package com.university.portal.student_portal.repository;
 
 import com.university.portal.student_portal.entity.Enrollment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -11,4 +13,14 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     boolean existsByStudentId(Long studentId);
     boolean existsByStudentIdAndProgramId(Long studentId, Long programId);
     boolean existsByStudentIdAndProgramIdAndTrimesterId(Long studentId, Long programId, Long trimesterId);
+
+    // Students matching every filter that is non-null; cohort is the year of the program enrollment
+    @Query("SELECT DISTINCT e.student.id FROM Enrollment e " +
+           "WHERE (:programId IS NULL OR e.program.id = :programId) " +
+           "AND (:trimesterId IS NULL OR e.trimester.id = :trimesterId) " +
+           "AND (:cohortYear IS NULL OR YEAR(e.enrolledAt) = :cohortYear) " +
+           "ORDER BY e.student.id")
+    List<Long> findStudentIds(@Param("programId") Long programId,
+                              @Param("trimesterId") Long trimesterId,
+                              @Param("cohortYear") Integer cohortYear);
 }
@@ -1,12 +1,16 @@
 package com.university.portal.student_portal.repository;
 
 import com.university.portal.student_portal.entity.Fee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface FeeRepository extends JpaRepository<Fee, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Fee> findByFeeCode(String feeCode);
     List<Fee> findByIsActiveTrue();
     List<Fee> findByFeeType(Fee.FeeType feeType);
@@ -0,0 +1,13 @@
+package com.university.portal.student_portal.repository;
+
+import com.university.portal.student_portal.entity.IssuedCertificate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface IssuedCertificateRepository extends JpaRepository<IssuedCertificate, Long> {
+    Optional<IssuedCertificate> findBySerial(String serial);
+
+    Optional<IssuedCertificate> findFirstByStudentIdAndFullNameAndRegistrationNumberOrderByIssuedAtAsc(
+            Long studentId, String fullName, String registrationNumber);
+}
@@ -0,0 +1,32 @@
+package com.university.portal.student_portal.repository;
+
+import com.university.portal.student_portal.dto.MeetingSlotDTO;
+import com.university.portal.student_portal.entity.MeetingSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MeetingSlotRepository extends JpaRepository<MeetingSlot, Long> {
+
+    @Query("SELECT new com.university.portal.student_portal.dto.MeetingSlotDTO(" +
+           "ms.id, pc.id, c.courseCode, ms.dayOfWeek, ms.startTime, ms.endTime, ms.room, ms.lecturer) " +
+           "FROM MeetingSlot ms JOIN ms.programCourse pc JOIN pc.course c " +
+           "WHERE pc.id IN :programCourseIds")
+    List<MeetingSlotDTO> findSlotsByProgramCourseIds(@Param("programCourseIds") Collection<Long> programCourseIds);
+
+    @Query("SELECT new com.university.portal.student_portal.dto.MeetingSlotDTO(" +
+           "ms.id, pc.id, c.courseCode, ms.dayOfWeek, ms.startTime, ms.endTime, ms.room, ms.lecturer) " +
+           "FROM MeetingSlot ms JOIN ms.programCourse pc JOIN pc.course c " +
+           "WHERE pc.trimester.id = :trimesterId AND pc.isActive = true")
+    List<MeetingSlotDTO> findSlotsByTrimesterId(@Param("trimesterId") Long trimesterId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MeetingSlot ms WHERE ms.programCourse.id = :programCourseId")
+    void deleteByProgramCourseId(@Param("programCourseId") Long programCourseId);
+}
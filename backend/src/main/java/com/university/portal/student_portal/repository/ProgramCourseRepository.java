@@ -1,14 +1,22 @@
 package com.university.portal.student_portal.repository;
 
 import com.university.portal.student_portal.entity.ProgramCourse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface ProgramCourseRepository extends JpaRepository<ProgramCourse, Long> {
+    // Offerings are read far more often than edited; results come from the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProgramCourse> findByProgramIdAndTrimesterId(Long programId, Long trimesterId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProgramCourse> findByProgramIdAndTrimesterIdAndIsActiveTrue(Long programId, Long trimesterId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProgramCourse> findByTrimesterId(Long trimesterId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProgramCourse> findByProgramId(Long programId);
     boolean existsByProgramIdAndCourseIdAndTrimesterId(Long programId, Long courseId, Long trimesterId);
 } 
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.university.portal.student_portal.repository;
 
 import com.university.portal.student_portal.entity.Program;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface ProgramRepository extends JpaRepository<Program, Long> {
     boolean existsByProgramCode(String programCode);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Program> findByProgramCode(String programCode);
 } 
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.university.portal.student_portal.repository;
 
 import com.university.portal.student_portal.entity.StudentCourseEnrollment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface StudentCourseEnrollmentRepository extends JpaRepository<StudentCourseEnrollment, Long> {
     List<StudentCourseEnrollment> findByStudentId(Long studentId);
@@ -13,6 +17,11 @@ public interface StudentCourseEnrollmentRepository extends JpaRepository<Student
     List<StudentCourseEnrollment> findByStudentIdAndProgramCourseTrimesterId(Long studentId, Long trimesterId);
     List<StudentCourseEnrollment> findByProgramCourseId(Long programCourseId);
     boolean existsByStudentIdAndProgramCourseId(Long studentId, Long programCourseId);
+
+    // Locks the row until commit, so concurrent updates of one enrollment each see the other's status and grade
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sce FROM StudentCourseEnrollment sce WHERE sce.id = :id")
+    Optional<StudentCourseEnrollment> findByIdForUpdate(@Param("id") Long id);
     
     @Query("SELECT COUNT(sce) FROM StudentCourseEnrollment sce " +
            "WHERE sce.student.id = :studentId " +
@@ -20,4 +29,33 @@ public interface StudentCourseEnrollmentRepository extends JpaRepository<Student
            "AND sce.isActive = true")
     int countActiveEnrollmentsByStudentAndTrimester(@Param("studentId") Long studentId, 
                                                    @Param("trimesterId") Long trimesterId);
-} 
\ No newline at end of file
+
+    @Query("SELECT sce.programCourse.id FROM StudentCourseEnrollment sce " +
+           "WHERE sce.student.id = :studentId " +
+           "AND sce.programCourse.trimester.id = :trimesterId " +
+           "AND sce.isActive = true")
+    List<Long> findActiveProgramCourseIds(@Param("studentId") Long studentId, @Param("trimesterId") Long trimesterId);
+
+    @Query("SELECT DISTINCT sce.programCourse.course.courseCode FROM StudentCourseEnrollment sce " +
+           "WHERE sce.student.id = :studentId " +
+           "AND sce.status = com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus.COMPLETED")
+    List<String> findCompletedCourseCodesByStudentId(@Param("studentId") Long studentId);
+
+    // Rows of [studentId, programId, isCore, status, creditHours] for graded enrollments
+    @Query("SELECT sce.student.id, pc.program.id, pc.isCore, sce.status, SUM(pc.creditHours) " +
+           "FROM StudentCourseEnrollment sce JOIN sce.programCourse pc " +
+           "WHERE sce.student.id IN :studentIds " +
+           "AND sce.status IN (com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus.COMPLETED, " +
+           "com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus.FAILED) " +
+           "GROUP BY sce.student.id, pc.program.id, pc.isCore, sce.status")
+    List<Object[]> sumGradedCreditsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+    // Rows of [studentId, trimesterId, grade, creditHours] for graded enrollments
+    @Query("SELECT sce.student.id, pc.trimester.id, sce.grade, SUM(pc.creditHours) " +
+           "FROM StudentCourseEnrollment sce JOIN sce.programCourse pc " +
+           "WHERE sce.student.id IN :studentIds AND sce.grade IS NOT NULL " +
+           "AND sce.status IN (com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus.COMPLETED, " +
+           "com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus.FAILED) " +
+           "GROUP BY sce.student.id, pc.trimester.id, sce.grade")
+    List<Object[]> sumGradedCreditsByTermAndGrade(@Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,26 @@
+package com.university.portal.student_portal.repository;
+
+import com.university.portal.student_portal.entity.StudentGpa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentGpaRepository extends JpaRepository<StudentGpa, Long> {
+    Optional<StudentGpa> findByStudentId(Long studentId);
+    List<StudentGpa> findByStudentIdIn(Collection<Long> studentIds);
+
+    @Modifying
+    @Query("UPDATE StudentGpa g SET " +
+           "g.qualityPoints = g.qualityPoints + :pointsDelta, " +
+           "g.creditsAttempted = g.creditsAttempted + :creditsDelta, " +
+           "g.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE g.student.id = :studentId")
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("pointsDelta") double pointsDelta,
+                   @Param("creditsDelta") int creditsDelta);
+}
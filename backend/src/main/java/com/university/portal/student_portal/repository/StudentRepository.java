@@ -1,11 +1,39 @@
 package com.university.portal.student_portal.repository;
 
+import com.university.portal.student_portal.dto.TranscriptRow;
 import com.university.portal.student_portal.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByRegistrationNumber(String registrationNumber);
     Optional<Student> findByUniversityEmail(String universityEmail);
+
+    @Query("SELECT s.id FROM Student s ORDER BY s.id")
+    List<Long> findAllIds();
+
+    // Graded course enrollments only; the program comes from the graded offering, or the
+    // student's program enrollment when nothing has been graded yet
+    String TRANSCRIPT_ROWS = "SELECT new com.university.portal.student_portal.dto.TranscriptRow(" +
+            "s.id, s.fullName, s.registrationNumber, " +
+            "COALESCE(p.programTitle, (SELECT MIN(ep.programTitle) FROM Enrollment e JOIN e.program ep WHERE e.student = s)), " +
+            "c.courseCode, c.courseTitle, sce.grade, t.name, pc.creditHours) " +
+            "FROM Student s " +
+            "LEFT JOIN StudentCourseEnrollment sce ON sce.student = s AND sce.grade IS NOT NULL " +
+            "AND sce.status IN (com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus.COMPLETED, " +
+            "com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus.FAILED) " +
+            "LEFT JOIN sce.programCourse pc " +
+            "LEFT JOIN pc.program p " +
+            "LEFT JOIN pc.course c " +
+            "LEFT JOIN pc.trimester t ";
+
+    @Query(TRANSCRIPT_ROWS + "WHERE s.id = :studentId ORDER BY t.startDate, c.courseCode")
+    List<TranscriptRow> findTranscriptRowsById(@Param("studentId") Long studentId);
+
+    @Query(TRANSCRIPT_ROWS + "WHERE s.registrationNumber = :registrationNumber ORDER BY t.startDate, c.courseCode")
+    List<TranscriptRow> findTranscriptRowsByRegistrationNumber(@Param("registrationNumber") String registrationNumber);
 }
@@ -0,0 +1,29 @@
+package com.university.portal.student_portal.repository;
+
+import com.university.portal.student_portal.entity.TermGpa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TermGpaRepository extends JpaRepository<TermGpa, Long> {
+    List<TermGpa> findByStudentIdIn(Collection<Long> studentIds);
+
+    @Query("SELECT t FROM TermGpa t JOIN FETCH t.trimester WHERE t.student.id = :studentId " +
+           "ORDER BY t.trimester.startDate")
+    List<TermGpa> findByStudentIdWithTrimester(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("UPDATE TermGpa t SET " +
+           "t.qualityPoints = t.qualityPoints + :pointsDelta, " +
+           "t.creditsAttempted = t.creditsAttempted + :creditsDelta, " +
+           "t.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE t.student.id = :studentId AND t.trimester.id = :trimesterId")
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("trimesterId") Long trimesterId,
+                   @Param("pointsDelta") double pointsDelta,
+                   @Param("creditsDelta") int creditsDelta);
+}
@@ -1,7 +1,10 @@
 package com.university.portal.student_portal.repository;
 
 import com.university.portal.student_portal.entity.Trimester;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -11,6 +14,7 @@ public interface TrimesterRepository extends JpaRepository<Trimester, Long> {
     List<Trimester> findByIsActiveTrue();
     List<Trimester> findByPeriodType(Trimester.AcademicPeriodType periodType);
     List<Trimester> findByAcademicYear(String academicYear);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Trimester> findByPeriodAndAcademicYear(String period, String academicYear);
     List<Trimester> findByStartDateBetweenOrEndDateBetween(
         LocalDate start1, LocalDate end1, LocalDate start2, LocalDate end2);
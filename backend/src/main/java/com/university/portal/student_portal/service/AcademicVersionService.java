@@ -0,0 +1,96 @@
+package com.university.portal.student_portal.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory "academic version" per student, bumped whenever something on the student's
+ * transcript may have changed (grades, course or program enrollments). A global version
+ * covers catalog-wide changes such as renamed courses or programs. Versions restart with a
+ * fresh epoch on every boot so tags issued by an earlier process never match.
+ * Bumps made inside a transaction take effect after it commits, so a concurrent reader
+ * can never cache pre-commit data under the new version. Committed bumps are also sent to
+ * the other nodes, which bump their own counters.
+ */
+@Service
+@RequiredArgsConstructor
+public class AcademicVersionService {
+
+    public static final String INVALIDATION_REGION = "academic-version";
+    // Above this many students one global bump is cheaper than a notification each
+    private static final int MAX_STUDENT_NOTIFICATIONS = 500;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final Map<Long, AtomicLong> studentVersions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        cacheInvalidationBus.subscribe(INVALIDATION_REGION, key -> {
+            if (CacheInvalidationBus.ALL.equals(key)) {
+                globalVersion.incrementAndGet();
+            } else {
+                increment(Long.valueOf(key));
+            }
+        });
+    }
+
+    public String currentVersion(Long studentId) {
+        AtomicLong version = studentVersions.computeIfAbsent(studentId, id -> new AtomicLong());
+        return epoch + "." + globalVersion.get() + "." + version.get();
+    }
+
+    public void bumpStudent(Long studentId) {
+        afterCommit(() -> {
+            increment(studentId);
+            cacheInvalidationBus.publish(INVALIDATION_REGION, studentId);
+        });
+    }
+
+    public void bumpStudents(Collection<Long> studentIds) {
+        List<Long> ids = List.copyOf(studentIds);
+        afterCommit(() -> {
+            ids.forEach(this::increment);
+            if (ids.size() > MAX_STUDENT_NOTIFICATIONS) {
+                cacheInvalidationBus.publish(INVALIDATION_REGION, CacheInvalidationBus.ALL);
+            } else {
+                ids.forEach(id -> cacheInvalidationBus.publish(INVALIDATION_REGION, id));
+            }
+        });
+    }
+
+    public void bumpAll() {
+        afterCommit(() -> {
+            globalVersion.incrementAndGet();
+            cacheInvalidationBus.publish(INVALIDATION_REGION, CacheInvalidationBus.ALL);
+        });
+    }
+
+    private void increment(Long studentId) {
+        studentVersions.computeIfAbsent(studentId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,321 @@
+package com.university.portal.student_portal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.university.portal.student_portal.config.BatchJob;
+import com.university.portal.student_portal.config.BatchWork;
+import com.university.portal.student_portal.config.BlockingThreads;
+import com.university.portal.student_portal.dto.BulkDocumentJobDTO;
+import com.university.portal.student_portal.dto.TranscriptDTO;
+import com.university.portal.student_portal.entity.Student;
+import com.university.portal.student_portal.repository.EnrollmentRepository;
+import com.university.portal.student_portal.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders transcripts and/or certificates for a filtered set of students and packs them into a
+ * single ZIP. Students are rendered on a pool sized to the CPU count with at most two tasks per
+ * worker in flight, and each finished student's files are read on the render thread and copied
+ * into the archive straight away, so memory stays bounded by the pool rather than the batch size.
+ * Rendering goes through the PDF file cache, so re-running an export only renders documents whose
+ * content changed. Export files are deleted with their job, and any left by a previous run at
+ * startup.
+ */
+@Service
+public class BulkDocumentService {
+
+    public enum DocumentType {
+        TRANSCRIPT,
+        CERTIFICATE
+    }
+
+    private static final int MAX_ERRORS_REPORTED = 100;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final TranscriptService transcriptService;
+    private final CertificateService certificateService;
+    private final Path exportDirectory;
+    private final int renderThreads = Runtime.getRuntime().availableProcessors();
+    // Rendering is CPU-bound, so it stays on platform threads even in virtual-thread mode
+    private final ExecutorService renderPool = Executors.newFixedThreadPool(renderThreads,
+            BatchWork.threads(Executors.defaultThreadFactory()));
+    // File exports run one at a time; later requests queue behind the current one
+    private final ExecutorService exportRunner;
+    private final Cache<String, BulkDocumentJob> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofDays(1))
+            .scheduler(Scheduler.systemScheduler())
+            .removalListener((String jobId, BulkDocumentJob job, RemovalCause cause) -> deleteExportFile(jobId))
+            .build();
+
+    public BulkDocumentService(EnrollmentRepository enrollmentRepository,
+                               StudentRepository studentRepository,
+                               TranscriptService transcriptService,
+                               CertificateService certificateService,
+                               @Value("${portal.bulk-export.dir:${java.io.tmpdir}/student-portal-exports}") String exportDirectory,
+                               BlockingThreads blockingThreads) throws IOException {
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.transcriptService = transcriptService;
+        this.certificateService = certificateService;
+        this.exportDirectory = Files.createDirectories(Paths.get(exportDirectory));
+        deleteLeftoverExports();
+        this.exportRunner = Executors.newSingleThreadExecutor(BatchWork.threads(blockingThreads.factory("bulk-export-")));
+    }
+
+    public BulkDocumentJob createJob(Long programId, Long trimesterId, Integer cohortYear) {
+        BulkDocumentJob job = new BulkDocumentJob(UUID.randomUUID().toString(),
+                enrollmentRepository.findStudentIds(programId, trimesterId, cohortYear));
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    // Queues an export to a ZIP under portal.bulk-export.dir; poll the job and download it once complete
+    public BulkDocumentJobDTO startFileExport(Long programId, Long trimesterId, Integer cohortYear, Set<DocumentType> documents) {
+        BulkDocumentJob job = createJob(programId, trimesterId, cohortYear);
+        exportRunner.submit(() -> {
+            Path temp = exportDirectory.resolve(job.id + ".zip.tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    writeZip(job, documents, out);
+                }
+                Files.move(temp, exportFile(job.id));
+            } catch (Exception e) {
+                job.fail(e);
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Left for the sweep at the next startup
+                }
+            }
+        });
+        return job.toDto(false);
+    }
+
+    @BatchJob
+    public void writeZip(BulkDocumentJob job, Set<DocumentType> documents, OutputStream out) throws IOException {
+        job.start();
+        List<Long> studentIds = job.studentIds;
+        CompletionService<RenderedStudent> completion = new ExecutorCompletionService<>(renderPool);
+        List<Future<RenderedStudent>> inFlight = new ArrayList<>();
+        int window = renderThreads * 2;
+        int submitted = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out))) {
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (int done = 0; done < studentIds.size(); done++) {
+                while (submitted < studentIds.size() && submitted - done < window) {
+                    Long studentId = studentIds.get(submitted++);
+                    inFlight.add(completion.submit(() -> render(studentId, documents)));
+                }
+                Future<RenderedStudent> future = completion.take();
+                inFlight.remove(future);
+                try {
+                    RenderedStudent rendered = future.get();
+                    for (Map.Entry<String, byte[]> file : rendered.files().entrySet()) {
+                        zip.putNextEntry(new ZipEntry(file.getKey()));
+                        zip.write(file.getValue());
+                        zip.closeEntry();
+                    }
+                    job.completed.incrementAndGet();
+                } catch (ExecutionException e) {
+                    job.failStudent(e.getCause().getMessage());
+                }
+            }
+            if (!job.errors.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("errors.txt"));
+                zip.write(String.join(System.lineSeparator(), job.errors).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            job.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(e);
+            throw new IOException("Bulk document export was interrupted", e);
+        } catch (IOException | RuntimeException e) {
+            job.fail(e);
+            throw e;
+        } finally {
+            // The client went away or the archive failed; stop rendering what is left
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    public Optional<BulkDocumentJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .map(job -> job.toDto(Files.exists(exportFile(jobId))));
+    }
+
+    public Optional<Path> getExportFile(String jobId) {
+        Path file = exportFile(jobId);
+        return jobs.getIfPresent(jobId) != null && Files.exists(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        exportRunner.shutdownNow();
+        renderPool.shutdownNow();
+    }
+
+    private Path exportFile(String jobId) {
+        return exportDirectory.resolve(jobId + ".zip");
+    }
+
+    private void deleteExportFile(String jobId) {
+        try {
+            Files.deleteIfExists(exportFile(jobId));
+        } catch (IOException e) {
+            System.out.println("Could not delete expired export " + jobId + ": " + e.getMessage());
+        }
+    }
+
+    // Jobs do not survive a restart, so nothing can download these any more
+    private void deleteLeftoverExports() throws IOException {
+        try (Stream<Path> listing = Files.list(exportDirectory)) {
+            for (Path path : listing.toList()) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(".zip") || name.endsWith(".zip.tmp")) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private RenderedStudent render(Long studentId, Set<DocumentType> documents) throws IOException {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found: " + studentId));
+        // Registration numbers like 21/04956 would otherwise become nested folders, and the id keeps
+        // 21/04956 and 21-04956 apart once sanitized
+        String folder = student.getRegistrationNumber().replaceAll("[^A-Za-z0-9._-]", "-") + "_" + studentId + "/";
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        try {
+            if (documents.contains(DocumentType.TRANSCRIPT)) {
+                TranscriptDTO transcript = transcriptService.getTranscript(studentId);
+                files.put(folder + "transcript.pdf", read(() -> transcriptService.getTranscriptPdf(transcript)));
+            }
+            if (documents.contains(DocumentType.CERTIFICATE)) {
+                files.put(folder + "certificate.pdf", read(() -> certificateService.getCertificatePdf(student)));
+            }
+        } catch (RuntimeException | IOException e) {
+            throw new IOException(student.getRegistrationNumber() + ": " + e.getMessage(), e);
+        }
+        return new RenderedStudent(files);
+    }
+
+    // Read here rather than on the export thread, so a file evicted from the PDF cache is rendered
+    // again for this student instead of failing the whole archive
+    private static byte[] read(PdfSource source) throws IOException {
+        try {
+            return Files.readAllBytes(source.get().path());
+        } catch (NoSuchFileException e) {
+            return Files.readAllBytes(source.get().path());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PdfSource {
+        PdfFileCache.CachedPdf get() throws IOException;
+    }
+
+    public static Set<DocumentType> parseDocuments(List<String> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return EnumSet.allOf(DocumentType.class);
+        }
+        Set<DocumentType> types = EnumSet.noneOf(DocumentType.class);
+        for (String document : documents) {
+            types.add(DocumentType.valueOf(document.trim().toUpperCase()));
+        }
+        return types;
+    }
+
+    private record RenderedStudent(Map<String, byte[]> files) {
+    }
+
+    public static class BulkDocumentJob {
+        private final String id;
+        private final List<Long> studentIds;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "QUEUED";
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        BulkDocumentJob(String id, List<Long> studentIds) {
+            this.id = id;
+            this.studentIds = studentIds;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        void start() {
+            status = "RUNNING";
+            startedAt = LocalDateTime.now();
+        }
+
+        void complete() {
+            status = "COMPLETED";
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized void fail(Exception e) {
+            if ("FAILED".equals(status)) {
+                return;
+            }
+            errors.add("Export failed: " + e.getMessage());
+            status = "FAILED";
+            finishedAt = LocalDateTime.now();
+        }
+
+        void failStudent(String error) {
+            failed.incrementAndGet();
+            errors.add(error);
+        }
+
+        BulkDocumentJobDTO toDto(boolean downloadReady) {
+            List<String> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors.subList(0, Math.min(errors.size(), MAX_ERRORS_REPORTED)));
+            }
+            return new BulkDocumentJobDTO(id, status, studentIds.size(), completed.get(), failed.get(),
+                    reported, startedAt, finishedAt, downloadReady);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.university.portal.student_portal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps in-memory caches coherent across portal instances using Postgres LISTEN/NOTIFY. Owners of
+ * a local cache {@link #subscribe} to a region and {@link #publish} an invalidation once their
+ * change has committed; every other node then evicts the same key, or the whole region for
+ * {@link #ALL}. Each node holds one dedicated connection for LISTEN, outside the pool. After a
+ * lost connection every region is cleared, since notifications sent meanwhile are gone.
+ * Disabled when the datasource is not Postgres or {@code portal.cache-invalidation.enabled} is false.
+ * Publishes cache.invalidation.published, cache.invalidation.received and cache.invalidation.dropped.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    public static final String ALL = "*";
+
+    private static final int OUTBOX_CAPACITY = 10_000;
+    private static final long POLL_MILLIS = 1_000;
+    private static final long RECONNECT_MILLIS = 5_000;
+
+    private final DataSource dataSource;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final boolean enabled;
+    // Lets a node ignore its own notifications; it has already evicted locally
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, Consumer<String>> listeners = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> outbox = new LinkedBlockingQueue<>(OUTBOX_CAPACITY);
+    private final Counter published;
+    private final Counter received;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private Thread publisherThread;
+
+    public CacheInvalidationBus(DataSource dataSource,
+                                MeterRegistry meterRegistry,
+                                @Value("${spring.datasource.url:}") String url,
+                                @Value("${spring.datasource.username:}") String username,
+                                @Value("${spring.datasource.password:}") String password,
+                                @Value("${portal.cache-invalidation.channel:portal_cache_invalidation}") String channel,
+                                @Value("${portal.cache-invalidation.enabled:true}") boolean enabled) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            // LISTEN takes an identifier, not a bind parameter
+            throw new IllegalStateException("Invalid portal.cache-invalidation.channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.enabled = enabled && url.startsWith("jdbc:postgresql:");
+        this.published = Counter.builder("cache.invalidation.published")
+                .description("Cache invalidations sent to other nodes")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("Cache invalidations received from other nodes")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("cache.invalidation.dropped")
+                .description("Cache invalidations not sent because the outbox was full")
+                .register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Handles invalidations of one region from other nodes; the key is ALL or the published key
+    public void subscribe(String region, Consumer<String> listener) {
+        listeners.put(region, listener);
+    }
+
+    // Call after the change is committed, so other nodes never reload the old data
+    public void publish(String region, Object key) {
+        if (!enabled) {
+            return;
+        }
+        if (outbox.offer(nodeId + " " + region + " " + key)) {
+            return;
+        }
+        // Other nodes still expire the entry on their own TTL
+        dropped.increment();
+        System.out.println("WARNING: cache invalidation outbox full, dropped " + region + " " + key);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (!enabled) {
+            System.out.println("Cache invalidation bus disabled; caches are local to this node");
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+        publisherThread = Thread.ofPlatform().daemon().name("cache-invalidation-publisher").start(this::publishLoop);
+        System.out.println("Cache invalidation bus started on channel " + channel + " as node " + nodeId);
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        listenerThread.interrupt();
+        publisherThread.interrupt();
+        listenerThread.join(POLL_MILLIS * 2);
+        publisherThread.join(POLL_MILLIS * 2);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    listeners.values().forEach(listener -> listener.accept(ALL));
+                }
+                reconnecting = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                System.out.println("WARNING: cache invalidation listener lost its connection: " + e.getMessage());
+                if (!sleep(RECONNECT_MILLIS)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        Consumer<String> listener = listeners.get(parts[1]);
+        if (listener == null) {
+            return;
+        }
+        received.increment();
+        try {
+            listener.accept(parts[2]);
+        } catch (RuntimeException e) {
+            System.out.println("WARNING: cache invalidation of " + parts[1] + " " + parts[2] + " failed: " + e.getMessage());
+        }
+    }
+
+    // Sends queued invalidations in batches, one transaction each; Postgres drops duplicates within a transaction
+    private void publishLoop() {
+        while (running) {
+            List<String> batch = new ArrayList<>();
+            try {
+                String first = outbox.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                outbox.drainTo(batch);
+                send(new LinkedHashSet<>(batch));
+            } catch (InterruptedException e) {
+                return;
+            } catch (SQLException e) {
+                dropped.increment(batch.size());
+                System.out.println("WARNING: could not publish " + batch.size() + " cache invalidations: " + e.getMessage());
+                if (!sleep(RECONNECT_MILLIS)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void send(Iterable<String> payloads) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                int count = 0;
+                for (String payload : payloads) {
+                    notify.setString(1, channel);
+                    notify.setString(2, payload);
+                    notify.execute();
+                    count++;
+                }
+                connection.commit();
+                published.increment(count);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.university.portal.student_portal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Catalog responses kept as finished JSON bytes, plain and gzipped, so a hit skips mapping,
+ * Jackson and compression. Entries belong to the catalog version they were built at; any
+ * committed change to catalog entities, here or on another node, moves the version on. ETags are
+ * derived from the bytes, so every node hands out the same tag for the same payload. Bounded by
+ * {@code portal.catalog-response-cache.max-size} and published as cache.gets{cache=catalogResponses}.
+ */
+@Component
+public class CatalogResponseCache {
+
+    public record CachedResponse(long version, String etag, byte[] json, byte[] gzip) {
+
+        public String gzipEtag() {
+            // A different representation needs its own strong tag
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong version = new AtomicLong();
+    private final Cache<String, CachedResponse> responses;
+
+    public CatalogResponseCache(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${portal.catalog-response-cache.max-size:32MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<String, CachedResponse>weigher((key, response) -> response.json().length + response.gzip().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "catalogResponses");
+    }
+
+    // Call after the change has committed
+    public void invalidate() {
+        version.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    public CachedResponse get(String key, Supplier<?> body) {
+        // Read the version before loading so data read before a change is never kept past it
+        long current = version.get();
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null && cached.version() == current) {
+            return cached;
+        }
+        CachedResponse built = build(current, body.get());
+        if (version.get() == current) {
+            responses.put(key, built);
+        }
+        return built;
+    }
+
+    private CachedResponse build(long version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(json);
+            }
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+            return new CachedResponse(version, etag, json, gzip.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.entity.IssuedCertificate;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.university.portal.student_portal.service.PdfTemplate.BOLD;
+import static com.university.portal.student_portal.service.PdfTemplate.REGULAR;
+import static com.university.portal.student_portal.service.PdfTemplate.text;
+
+/**
+ * Certificate of enrollment. Everything except the issued details is drawn into a template once
+ * at startup. The serial, issue time and signature are printed for verification by hand and also
+ * stored in the document information under the Certificate* keys.
+ */
+@Component
+public class CertificatePdfRenderer {
+
+    // Part of the PDF cache key; bump when the layout changes
+    public static final String LAYOUT_VERSION = "certificate-v3";
+
+    private static final String REGISTRATION_LABEL = "Registration Number: ";
+    private static final String SERIAL_LABEL = "Serial: ";
+    private static final String ISSUED_LABEL = "Issued: ";
+    private static final String VERIFY_LABEL = "Verify online at /api/certificate/verify/";
+
+    private final PdfTemplate template = new PdfTemplate(content -> {
+        text(content, BOLD, 24, 100, 700, "Certificate of Enrollment");
+        text(content, REGULAR, 16, 100, 650, "This is to certify that");
+        text(content, REGULAR, 16, 100, 590, REGISTRATION_LABEL);
+        text(content, REGULAR, 16, 100, 560, "is enrolled in the university.");
+        text(content, REGULAR, 11, 100, 200, SERIAL_LABEL);
+        text(content, REGULAR, 11, 100, 184, ISSUED_LABEL);
+        text(content, REGULAR, 9, 100, 164, "Verification code:");
+        text(content, REGULAR, 9, 100, 134, VERIFY_LABEL);
+    });
+    private final float registrationValueX = 100 + PdfTemplate.width(REGULAR, 16, REGISTRATION_LABEL);
+    private final float serialValueX = 100 + PdfTemplate.width(REGULAR, 11, SERIAL_LABEL);
+    private final float issuedValueX = 100 + PdfTemplate.width(REGULAR, 11, ISSUED_LABEL);
+    private final float verifyValueX = 100 + PdfTemplate.width(REGULAR, 9, VERIFY_LABEL);
+
+    public CertificatePdfRenderer() throws IOException {
+    }
+
+    public void render(IssuedCertificate certificate, OutputStream out) throws IOException {
+        try (PDDocument doc = PdfTemplate.newDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            doc.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                content.drawForm(template.newForm(doc));
+                text(content, BOLD, 18, 100, 620, certificate.getFullName());
+                text(content, REGULAR, 16, registrationValueX, 590, certificate.getRegistrationNumber());
+                text(content, BOLD, 11, serialValueX, 200, certificate.getSerial());
+                text(content, REGULAR, 11, issuedValueX, 184, certificate.getIssuedAt().toString());
+                text(content, REGULAR, 8, 100, 150, certificate.getSignature());
+                text(content, REGULAR, 9, verifyValueX, 134, certificate.getSerial());
+            }
+
+            PDDocumentInformation info = doc.getDocumentInformation();
+            info.setTitle("Certificate of Enrollment");
+            info.setCustomMetadataValue("CertificateSerial", certificate.getSerial());
+            info.setCustomMetadataValue("CertificateRegistrationNumber", certificate.getRegistrationNumber());
+            info.setCustomMetadataValue("CertificateFullName", certificate.getFullName());
+            info.setCustomMetadataValue("CertificateIssuedAt", certificate.getIssuedAt().toString());
+            info.setCustomMetadataValue("CertificateSignature", certificate.getSignature());
+            doc.save(out);
+        }
+    }
+}
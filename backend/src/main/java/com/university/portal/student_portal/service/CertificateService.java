@@ -1,66 +1,128 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.dto.CertificateVerificationDTO;
+import com.university.portal.student_portal.dto.CertificateVerificationRequest;
+import com.university.portal.student_portal.entity.IssuedCertificate;
 import com.university.portal.student_portal.entity.Student;
+import com.university.portal.student_portal.repository.IssuedCertificateRepository;
 import com.university.portal.student_portal.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class CertificateService {
+    // No 0/O or 1/I so serials survive being read out over the phone
+    private static final String SERIAL_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final StudentRepository studentRepository;
+    private final IssuedCertificateRepository issuedCertificateRepository;
+    private final CertificateSigner certificateSigner;
+    private final PdfFileCache pdfFileCache;
+    private final CertificatePdfRenderer certificatePdfRenderer;
+    private final PdfRenderQueue pdfRenderQueue;
 
-    public byte[] generateCertificatePdf(Long studentId) throws IOException {
-        Student student = studentRepository.findById(studentId).orElseThrow();
-        try (PDDocument doc = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            doc.addPage(page);
-            try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
-                content.setFont(PDType1Font.HELVETICA_BOLD, 24);
-                content.beginText();
-                content.newLineAtOffset(100, 700);
-                content.showText("Certificate of Enrollment");
-                content.endText();
+    // Served from disk when cached, otherwise rendered on the PDF render queue
+    public CompletableFuture<PdfFileCache.CachedPdf> renderCertificatePdfByRegistrationNumber(String registrationNumber) throws IOException {
+        Student student = studentRepository.findByRegistrationNumber(registrationNumber).orElseThrow();
+        IssuedCertificate certificate = issue(student);
+        return pdfRenderQueue.submit(CertificatePdfRenderer.LAYOUT_VERSION, certificate,
+                out -> certificatePdfRenderer.render(certificate, out));
+    }
 
-                content.setFont(PDType1Font.HELVETICA, 16);
-                content.beginText();
-                content.newLineAtOffset(100, 650);
-                content.showText("This is to certify that");
-                content.endText();
+    public PdfFileCache.CachedPdf getCertificatePdf(Student student) throws IOException {
+        IssuedCertificate certificate = issue(student);
+        return pdfFileCache.getOrRender(CertificatePdfRenderer.LAYOUT_VERSION, certificate,
+                out -> certificatePdfRenderer.render(certificate, out));
+    }
 
-                content.setFont(PDType1Font.HELVETICA_BOLD, 18);
-                content.beginText();
-                content.newLineAtOffset(100, 620);
-                content.showText(student.getFullName());
-                content.endText();
+    // One serial per distinct name and registration number, so re-downloads reuse the issued certificate and its cached PDF
+    public IssuedCertificate issue(Student student) {
+        Optional<IssuedCertificate> issued = findIssued(student);
+        if (issued.isPresent()) {
+            return resignIfKeyRetired(issued.get());
+        }
+        String serial = newSerial();
+        // Whole seconds so the signed timestamp survives the database round trip unchanged
+        LocalDateTime issuedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        try {
+            return issuedCertificateRepository.save(IssuedCertificate.builder()
+                    .serial(serial)
+                    .studentId(student.getId())
+                    .fullName(student.getFullName())
+                    .registrationNumber(student.getRegistrationNumber())
+                    .issuedAt(issuedAt)
+                    .signature(certificateSigner.sign(CertificateSigner.payload(
+                            serial, student.getRegistrationNumber(), student.getFullName(), issuedAt)))
+                    .keyId(certificateSigner.getKeyId())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Issued by a concurrent request first; the unique constraint kept only one
+            return findIssued(student).orElseThrow(() -> e);
+        }
+    }
 
-                content.setFont(PDType1Font.HELVETICA, 16);
-                content.beginText();
-                content.newLineAtOffset(100, 590);
-                content.showText("Registration Number: " + student.getRegistrationNumber());
-                content.endText();
+    private Optional<IssuedCertificate> findIssued(Student student) {
+        return issuedCertificateRepository.findFirstByStudentIdAndFullNameAndRegistrationNumberOrderByIssuedAtAsc(
+                student.getId(), student.getFullName(), student.getRegistrationNumber());
+    }
 
-                content.beginText();
-                content.newLineAtOffset(100, 560);
-                content.showText("is enrolled in the university.");
-                content.endText();
-            }
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            doc.save(out);
-            return out.toByteArray();
+    // Rows signed with a key that is no longer configured would be served but never verify; the
+    // serial and issue date stay, only the signature changes (and with it the cached PDF)
+    private IssuedCertificate resignIfKeyRetired(IssuedCertificate certificate) {
+        if (certificateSigner.isKnownKey(certificate.getKeyId())
+                || certificateSigner.verify(certificate.getKeyId(), payload(certificate), certificate.getSignature())) {
+            return certificate;
         }
+        System.out.println("Re-signing certificate " + certificate.getSerial() + " signed with retired key " + certificate.getKeyId());
+        certificate.setSignature(certificateSigner.sign(payload(certificate)));
+        certificate.setKeyId(certificateSigner.getKeyId());
+        return issuedCertificateRepository.save(certificate);
     }
 
-    public byte[] generateCertificatePdfByRegistrationNumber(String registrationNumber) throws IOException {
-        Student student = studentRepository.findByRegistrationNumber(registrationNumber).orElseThrow();
-        return generateCertificatePdf(student.getId());
+    // Single lookup on the unique serial index; the stored signature is re-checked so edited rows do not verify
+    public Optional<CertificateVerificationDTO> verifyBySerial(String serial) {
+        return issuedCertificateRepository.findBySerial(serial.trim().toUpperCase())
+                .map(certificate -> new CertificateVerificationDTO(
+                        certificateSigner.verify(certificate.getKeyId(), payload(certificate), certificate.getSignature()),
+                        certificate.getSerial(),
+                        certificate.getFullName(),
+                        certificate.getRegistrationNumber(),
+                        certificate.getIssuedAt()));
+    }
+
+    // Checks the printed fields against the signature alone, without the database
+    public CertificateVerificationDTO verifySignature(CertificateVerificationRequest request) {
+        boolean valid = request.getSerial() != null && request.getRegistrationNumber() != null
+                && request.getFullName() != null && request.getIssuedAt() != null && request.getSignature() != null
+                && certificateSigner.verify(CertificateSigner.payload(request.getSerial(), request.getRegistrationNumber(),
+                request.getFullName(), request.getIssuedAt()), request.getSignature());
+        return new CertificateVerificationDTO(valid, request.getSerial(), request.getFullName(),
+                request.getRegistrationNumber(), request.getIssuedAt());
+    }
+
+    private static String payload(IssuedCertificate certificate) {
+        return CertificateSigner.payload(certificate.getSerial(), certificate.getRegistrationNumber(),
+                certificate.getFullName(), certificate.getIssuedAt());
+    }
+
+    private static String newSerial() {
+        StringBuilder serial = new StringBuilder("SU");
+        for (int i = 0; i < 12; i++) {
+            if (i % 4 == 0) {
+                serial.append('-');
+            }
+            serial.append(SERIAL_ALPHABET.charAt(RANDOM.nextInt(SERIAL_ALPHABET.length())));
+        }
+        return serial.toString();
     }
-} 
\ No newline at end of file
+}
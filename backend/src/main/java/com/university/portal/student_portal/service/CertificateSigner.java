@@ -0,0 +1,139 @@
+package com.university.portal.student_portal.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signs issued certificates with Ed25519 so anyone holding the public key can check one without
+ * the portal database. Keys come from {@code portal.certificates.private-key} (PKCS#8) and
+ * {@code portal.certificates.public-key} (X.509), both base64; startup fails without them unless
+ * {@code portal.certificates.allow-temporary-key=true}, meant for local development only, since
+ * certificates signed with a temporary key stop verifying after a restart. Each key is known by
+ * its id, a fingerprint of the public key stored with every certificate; retired public keys in
+ * {@code portal.certificates.previous-public-keys} keep their certificates verifying.
+ */
+@Component
+public class CertificateSigner {
+
+    private static final String ALGORITHM = "Ed25519";
+
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final String keyId;
+    // Current key first, then retired ones, by key id
+    private final Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+
+    public CertificateSigner(@Value("${portal.certificates.private-key:}") String privateKey,
+                             @Value("${portal.certificates.public-key:}") String publicKey,
+                             @Value("${portal.certificates.previous-public-keys:}") List<String> previousPublicKeys,
+                             @Value("${portal.certificates.allow-temporary-key:false}") boolean allowTemporaryKey) throws GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+        if (privateKey.isBlank() && publicKey.isBlank()) {
+            if (!allowTemporaryKey) {
+                throw new IllegalStateException("Set portal.certificates.private-key and portal.certificates.public-key, "
+                        + "or portal.certificates.allow-temporary-key=true for local development");
+            }
+            System.out.println("WARNING: portal.certificates.allow-temporary-key is set; certificates issued now will not verify after a restart");
+            KeyPair pair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+            this.privateKey = pair.getPrivate();
+            this.publicKey = pair.getPublic();
+        } else if (privateKey.isBlank() || publicKey.isBlank()) {
+            throw new IllegalStateException("Set both portal.certificates.private-key and portal.certificates.public-key");
+        } else {
+            this.privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey.trim())));
+            this.publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey.trim())));
+        }
+        this.keyId = keyId(this.publicKey);
+        publicKeys.put(keyId, this.publicKey);
+        for (String previous : previousPublicKeys) {
+            if (!previous.isBlank()) {
+                PublicKey key = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(previous.trim())));
+                publicKeys.putIfAbsent(keyId(key), key);
+            }
+        }
+    }
+
+    // First 16 hex digits of the SHA-256 of the encoded public key
+    private static String keyId(PublicKey key) throws GeneralSecurityException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(key.getEncoded()), 0, 8);
+    }
+
+    // The exact bytes that are signed; every field printed on the certificate is covered
+    public static String payload(String serial, String registrationNumber, String fullName, LocalDateTime issuedAt) {
+        return String.join("\n", serial, registrationNumber, fullName, issuedAt.toString());
+    }
+
+    public String sign(String payload) {
+        try {
+            Signature signer = Signature.getInstance(ALGORITHM);
+            signer.initSign(privateKey);
+            signer.update(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signer.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign certificate", e);
+        }
+    }
+
+    /**
+     * Checks the signature with the key it was made with, or with every known key when the key id
+     * is not known, as for certificates signed before key ids were stored.
+     */
+    public boolean verify(String keyId, String payload, String signature) {
+        if (keyId != null) {
+            PublicKey key = publicKeys.get(keyId);
+            return key != null && verify(key, payload, signature);
+        }
+        return verify(payload, signature);
+    }
+
+    public boolean verify(String payload, String signature) {
+        return publicKeys.values().stream().anyMatch(key -> verify(key, payload, signature));
+    }
+
+    private static boolean verify(PublicKey key, String payload, String signature) {
+        try {
+            Signature verifier = Signature.getInstance(ALGORITHM);
+            verifier.initVerify(key);
+            verifier.update(payload.getBytes(StandardCharsets.UTF_8));
+            return verifier.verify(Base64.getUrlDecoder().decode(signature.trim()));
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            // Malformed signatures are simply not valid
+            return false;
+        }
+    }
+
+    // False for certificates signed before key ids were stored, and for keys no longer configured
+    public boolean isKnownKey(String keyId) {
+        return keyId != null && publicKeys.containsKey(keyId);
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    public String getPublicKey() {
+        return Base64.getEncoder().encodeToString(publicKey.getEncoded());
+    }
+}
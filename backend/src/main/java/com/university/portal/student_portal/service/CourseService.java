@@ -1,9 +1,14 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.config.CacheConfig;
+import com.university.portal.student_portal.dto.TrimesterDTO.CourseDTO;
 import com.university.portal.student_portal.entity.Course;
 import com.university.portal.student_portal.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,29 +17,41 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CourseService {
     private final CourseRepository courseRepository;
-
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    private final AcademicVersionService academicVersionService;
+
+    @Cacheable(CacheConfig.COURSES)
+    @Transactional(readOnly = true)
+    public List<CourseDTO> getAllCourses() {
+        return courseRepository.findAll().stream()
+                .map(CourseDTO::fromEntity)
+                .toList();
     }
 
     public Optional<Course> getCourseById(Long id) {
         return courseRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.COURSES, allEntries = true)
     public Course createCourse(Course course) {
         return courseRepository.save(course);
     }
 
+    // Active trimesters embed course titles in their offerings
+    @CacheEvict(cacheNames = {CacheConfig.COURSES, CacheConfig.ACTIVE_TRIMESTERS}, allEntries = true)
     public Course updateCourse(Long id, Course updated) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         course.setCourseCode(updated.getCourseCode());
         course.setCourseTitle(updated.getCourseTitle());
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        academicVersionService.bumpAll();
+        return saved;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.COURSES, CacheConfig.ACTIVE_TRIMESTERS}, allEntries = true)
     public void deleteCourse(Long id) {
         courseRepository.deleteById(id);
+        academicVersionService.bumpAll();
     }
 }
 
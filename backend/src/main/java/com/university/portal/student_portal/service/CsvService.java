@@ -1,5 +1,6 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.config.BatchJob;
 import com.university.portal.student_portal.entity.Student;
 import com.university.portal.student_portal.entity.Enrollment;
 import com.university.portal.student_portal.entity.Program;
@@ -31,11 +32,13 @@ public class CsvService {
     private final ProgramRepository programRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AcademicVersionService academicVersionService;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final String DEFAULT_PASSWORD = "password123";
 
     // Export Students to CSV
+    @BatchJob
     public byte[] exportStudentsToCsv() throws IOException {
         List<Student> students = studentRepository.findAll();
         
@@ -72,6 +75,7 @@ public class CsvService {
     }
 
     // Export Enrollments to CSV
+    @BatchJob
     public byte[] exportEnrollmentsToCsv() throws IOException {
         List<Enrollment> enrollments = enrollmentRepository.findAll();
         
@@ -100,6 +104,7 @@ public class CsvService {
     }
 
     // Import Students from CSV
+    @BatchJob
     public List<String> importStudentsFromCsv(MultipartFile file) throws IOException {
         List<String> results = new ArrayList<>();
         int successCount = 0;
@@ -141,6 +146,7 @@ public class CsvService {
     }
 
     // Bulk Enroll Students from CSV
+    @BatchJob
     public List<String> bulkEnrollStudentsFromCsv(MultipartFile file) throws IOException {
         List<String> results = new ArrayList<>();
         int successCount = 0;
@@ -188,6 +194,7 @@ public class CsvService {
                         .build();
                     
                     enrollmentRepository.save(enrollment);
+                    academicVersionService.bumpStudent(student.getId());
                     successCount++;
                     results.add("Success: Enrolled " + studentRegNumber + " in " + programCode);
                     
@@ -0,0 +1,192 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.config.BatchJob;
+import com.university.portal.student_portal.config.BatchWork;
+import com.university.portal.student_portal.config.BlockingThreads;
+import com.university.portal.student_portal.dto.DegreeAuditDTO;
+import com.university.portal.student_portal.entity.DegreeAudit;
+import com.university.portal.student_portal.entity.ProgramCourse;
+import com.university.portal.student_portal.entity.StudentCourseEnrollment;
+import com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus;
+import com.university.portal.student_portal.repository.DegreeAuditRepository;
+import com.university.portal.student_portal.repository.ProgramCourseRepository;
+import com.university.portal.student_portal.repository.ProgramRepository;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import com.university.portal.student_portal.repository.StudentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class DegreeAuditService {
+
+    private static final int RECOMPUTE_CHUNK_SIZE = 500;
+
+    private final DegreeAuditRepository degreeAuditRepository;
+    private final StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final ProgramRepository programRepository;
+    private final ProgramCourseRepository programCourseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingThreads blockingThreads;
+
+    public DegreeAuditService(DegreeAuditRepository degreeAuditRepository,
+                              StudentCourseEnrollmentRepository studentCourseEnrollmentRepository,
+                              StudentRepository studentRepository,
+                              ProgramRepository programRepository,
+                              ProgramCourseRepository programCourseRepository,
+                              PlatformTransactionManager transactionManager,
+                              BlockingThreads blockingThreads) {
+        this.degreeAuditRepository = degreeAuditRepository;
+        this.studentCourseEnrollmentRepository = studentCourseEnrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.programRepository = programRepository;
+        this.programCourseRepository = programCourseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blockingThreads = blockingThreads;
+    }
+
+    /**
+     * Moves one enrollment's credit hours between the running totals when its status changes.
+     * Pass {@code null} as the new status when the enrollment has been deleted.
+     */
+    @Transactional
+    public void applyStatusChange(StudentCourseEnrollment enrollment, EnrollmentStatus previousStatus, EnrollmentStatus newStatus) {
+        int[] before = contribution(enrollment.getProgramCourse(), previousStatus);
+        int[] after = contribution(enrollment.getProgramCourse(), newStatus);
+        int coreDelta = after[0] - before[0];
+        int electiveDelta = after[1] - before[1];
+        int failedDelta = after[2] - before[2];
+        if (coreDelta == 0 && electiveDelta == 0 && failedDelta == 0) {
+            return;
+        }
+
+        Long studentId = enrollment.getStudent().getId();
+        Long programId = enrollment.getProgramCourse().getProgram().getId();
+        int updated = degreeAuditRepository.applyDelta(studentId, programId, coreDelta, electiveDelta, failedDelta);
+        if (updated == 0) {
+            // No running total yet for this student, so seed it from the enrollments
+            recomputeStudents(List.of(studentId));
+        }
+    }
+
+    @Transactional
+    public void recomputeStudent(Long studentId) {
+        recomputeStudents(List.of(studentId));
+    }
+
+    // Recomputes every student's totals in parallel chunks, e.g. ahead of graduation clearance
+    @BatchJob
+    public int recomputeAll() {
+        List<Long> studentIds = studentRepository.findAllIds();
+        BatchWork.inChunks("Degree audit recompute", studentIds, RECOMPUTE_CHUNK_SIZE, blockingThreads.factory("degree-audit-recompute-"),
+                transactionTemplate, this::recomputeStudents);
+        return studentIds.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DegreeAuditDTO> getAuditsByStudent(Long studentId) {
+        return toDtos(degreeAuditRepository.findByStudentId(studentId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DegreeAuditDTO> getAuditsByProgram(Long programId) {
+        return toDtos(degreeAuditRepository.findByProgramId(programId));
+    }
+
+    @Transactional
+    public void recomputeStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        Map<String, int[]> totals = new HashMap<>();
+        for (Object[] row : studentCourseEnrollmentRepository.sumGradedCreditsByStudentIds(studentIds)) {
+            int[] total = totals.computeIfAbsent(row[0] + ":" + row[1], key -> new int[3]);
+            int credits = ((Number) row[4]).intValue();
+            if (row[3] == EnrollmentStatus.FAILED) {
+                total[2] += credits;
+            } else if (Boolean.TRUE.equals(row[2])) {
+                total[0] += credits;
+            } else {
+                total[1] += credits;
+            }
+        }
+
+        Map<String, DegreeAudit> existing = degreeAuditRepository.findByStudentIdIn(studentIds).stream()
+                .collect(Collectors.toMap(a -> a.getStudent().getId() + ":" + a.getProgram().getId(), a -> a));
+
+        List<DegreeAudit> toSave = new ArrayList<>();
+        Set<String> keys = new HashSet<>(totals.keySet());
+        keys.addAll(existing.keySet());
+        for (String key : keys) {
+            int[] total = totals.getOrDefault(key, new int[3]);
+            DegreeAudit audit = existing.get(key);
+            if (audit == null) {
+                String[] ids = key.split(":");
+                audit = DegreeAudit.builder()
+                        .student(studentRepository.getReferenceById(Long.valueOf(ids[0])))
+                        .program(programRepository.getReferenceById(Long.valueOf(ids[1])))
+                        .build();
+            }
+            audit.setCoreCreditsCompleted(total[0]);
+            audit.setElectiveCreditsCompleted(total[1]);
+            audit.setCreditsFailed(total[2]);
+            toSave.add(audit);
+        }
+        degreeAuditRepository.saveAll(toSave);
+    }
+
+    // [core completed, elective completed, failed] credit hours contributed by one enrollment
+    private int[] contribution(ProgramCourse programCourse, EnrollmentStatus status) {
+        int[] credits = new int[3];
+        if (status == EnrollmentStatus.COMPLETED) {
+            credits[programCourse.isCore() ? 0 : 1] = programCourse.getCreditHours();
+        } else if (status == EnrollmentStatus.FAILED) {
+            credits[2] = programCourse.getCreditHours();
+        }
+        return credits;
+    }
+
+    private List<DegreeAuditDTO> toDtos(List<DegreeAudit> audits) {
+        Map<Long, Integer> requiredByProgram = new HashMap<>();
+        return audits.stream().map(audit -> {
+            Long programId = audit.getProgram().getId();
+            int required = requiredByProgram.computeIfAbsent(programId, this::getRequiredCoreCredits);
+            int remaining = Math.max(0, required - audit.getCoreCreditsCompleted());
+            return new DegreeAuditDTO(
+                    audit.getStudent().getId(),
+                    audit.getStudent().getRegistrationNumber(),
+                    programId,
+                    audit.getProgram().getProgramCode(),
+                    required,
+                    audit.getCoreCreditsCompleted(),
+                    audit.getElectiveCreditsCompleted(),
+                    audit.getCreditsFailed(),
+                    remaining,
+                    remaining == 0,
+                    audit.getUpdatedAt()
+            );
+        }).collect(Collectors.toList());
+    }
+
+    // A course offered in several trimesters only counts once towards the requirement
+    private int getRequiredCoreCredits(Long programId) {
+        Map<Long, Integer> creditsByCourse = new HashMap<>();
+        for (ProgramCourse pc : programCourseRepository.findByProgramId(programId)) {
+            if (pc.isCore() && pc.isActive()) {
+                creditsByCourse.merge(pc.getCourse().getId(), pc.getCreditHours(), Math::max);
+            }
+        }
+        return creditsByCourse.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -20,6 +20,7 @@ public class EnrollmentRequestService {
 
     private final EnrollmentRequestRepository enrollmentRequestRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final TimetableService timetableService;
 
     public EnrollmentRequest createEnrollmentRequest(Student student, Program program) {
         // Check if student is already enrolled in this program
@@ -65,6 +66,7 @@ public class EnrollmentRequestService {
         if (courseIds.size() > trimester.getMaximumCourses()) {
             throw new IllegalStateException("You cannot select more than " + trimester.getMaximumCourses() + " courses");
         }
+        timetableService.assertNoClashes(student.getId(), trimester.getId(), courseIds);
 
         // Convert course IDs to comma-separated string
         String courseIdsString = courseIds.stream()
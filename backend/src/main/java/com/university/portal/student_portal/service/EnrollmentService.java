@@ -19,6 +19,9 @@ public class EnrollmentService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private AcademicVersionService academicVersionService;
+
     public Enrollment enrollStudent(Student student, Program program) {
         if (enrollmentRepository.existsByStudentId(student.getId())) {
             throw new IllegalStateException("Student is already enrolled in a program/course");
@@ -32,7 +35,9 @@ public class EnrollmentService {
                 .enrolledAt(LocalDateTime.now())
                 .build();
 
-        return enrollmentRepository.save(enrollment);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        academicVersionService.bumpStudent(student.getId());
+        return saved;
     }
 
     public List<Enrollment> getEnrollmentsByStudent(Long studentId) {
@@ -52,7 +57,10 @@ public class EnrollmentService {
     }
 
     public void deleteEnrollment(Long enrollmentId) {
-        enrollmentRepository.deleteById(enrollmentId);
+        enrollmentRepository.findById(enrollmentId).ifPresent(enrollment -> {
+            enrollmentRepository.delete(enrollment);
+            academicVersionService.bumpStudent(enrollment.getStudent().getId());
+        });
     }
 }
 
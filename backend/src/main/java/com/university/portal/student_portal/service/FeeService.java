@@ -1,10 +1,14 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.config.CacheConfig;
 import com.university.portal.student_portal.dto.FeeDto;
 import com.university.portal.student_portal.entity.Fee;
 import com.university.portal.student_portal.repository.FeeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,18 +20,22 @@ public class FeeService {
     
     private final FeeRepository feeRepository;
     
+    @Transactional(readOnly = true)
     public List<FeeDto> getAllFees() {
         return feeRepository.findAll().stream()
                 .map(FeeDto::fromEntity)
                 .collect(Collectors.toList());
     }
     
+    @Cacheable(CacheConfig.ACTIVE_FEES)
+    @Transactional(readOnly = true)
     public List<FeeDto> getActiveFees() {
         return feeRepository.findByIsActiveTrue().stream()
                 .map(FeeDto::fromEntity)
-                .collect(Collectors.toList());
+                .toList();
     }
     
+    @Transactional(readOnly = true)
     public List<FeeDto> getFeesByType(Fee.FeeType feeType) {
         return feeRepository.findByFeeType(feeType).stream()
                 .map(FeeDto::fromEntity)
@@ -44,6 +52,7 @@ public class FeeService {
                 .map(FeeDto::fromEntity);
     }
     
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_FEES, allEntries = true)
     public FeeDto createFee(FeeDto feeDto) {
         if (feeRepository.existsByFeeCode(feeDto.getFeeCode())) {
             throw new IllegalArgumentException("Fee with code " + feeDto.getFeeCode() + " already exists");
@@ -54,6 +63,7 @@ public class FeeService {
         return FeeDto.fromEntity(savedFee);
     }
     
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_FEES, allEntries = true)
     public FeeDto updateFee(Long id, FeeDto feeDto) {
         Fee existingFee = feeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Fee not found with id: " + id));
@@ -75,6 +85,7 @@ public class FeeService {
         return FeeDto.fromEntity(updatedFee);
     }
     
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_FEES, allEntries = true)
     public void deleteFee(Long id) {
         if (!feeRepository.existsById(id)) {
             throw new IllegalArgumentException("Fee not found with id: " + id);
@@ -82,6 +93,7 @@ public class FeeService {
         feeRepository.deleteById(id);
     }
     
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_FEES, allEntries = true)
     public void deactivateFee(Long id) {
         Fee fee = feeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Fee not found with id: " + id));
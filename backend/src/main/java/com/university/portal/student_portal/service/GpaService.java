@@ -0,0 +1,217 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.config.BatchJob;
+import com.university.portal.student_portal.config.BatchWork;
+import com.university.portal.student_portal.config.BlockingThreads;
+import com.university.portal.student_portal.dto.GpaDTO;
+import com.university.portal.student_portal.entity.StudentCourseEnrollment;
+import com.university.portal.student_portal.entity.StudentCourseEnrollment.EnrollmentStatus;
+import com.university.portal.student_portal.entity.StudentGpa;
+import com.university.portal.student_portal.entity.TermGpa;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import com.university.portal.student_portal.repository.StudentGpaRepository;
+import com.university.portal.student_portal.repository.StudentRepository;
+import com.university.portal.student_portal.repository.TermGpaRepository;
+import com.university.portal.student_portal.repository.TrimesterRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Credit-weighted GPA kept as running quality-point and credit totals per student and per
+ * trimester, so reads are a single row lookup. Grade changes apply a delta; a full recompute
+ * rebuilds every total from the enrollments, e.g. after the grading scale changes.
+ */
+@Service
+public class GpaService {
+
+    private static final int RECOMPUTE_CHUNK_SIZE = 500;
+
+    private final StudentGpaRepository studentGpaRepository;
+    private final TermGpaRepository termGpaRepository;
+    private final StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final TrimesterRepository trimesterRepository;
+    private final GradeScale gradeScale;
+    private final AcademicVersionService academicVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingThreads blockingThreads;
+
+    public GpaService(StudentGpaRepository studentGpaRepository,
+                      TermGpaRepository termGpaRepository,
+                      StudentCourseEnrollmentRepository studentCourseEnrollmentRepository,
+                      StudentRepository studentRepository,
+                      TrimesterRepository trimesterRepository,
+                      GradeScale gradeScale,
+                      AcademicVersionService academicVersionService,
+                      PlatformTransactionManager transactionManager,
+                      BlockingThreads blockingThreads) {
+        this.studentGpaRepository = studentGpaRepository;
+        this.termGpaRepository = termGpaRepository;
+        this.studentCourseEnrollmentRepository = studentCourseEnrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.trimesterRepository = trimesterRepository;
+        this.gradeScale = gradeScale;
+        this.academicVersionService = academicVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blockingThreads = blockingThreads;
+    }
+
+    /**
+     * Moves one enrollment's quality points and credits between the running totals when its
+     * grade or status changes. Pass {@code null} as the new status when the enrollment has been deleted.
+     */
+    @Transactional
+    public void applyGradeChange(StudentCourseEnrollment enrollment,
+                                 String previousGrade, EnrollmentStatus previousStatus,
+                                 String newGrade, EnrollmentStatus newStatus) {
+        int credits = enrollment.getProgramCourse().getCreditHours();
+        Double before = pointsFor(previousGrade, previousStatus);
+        Double after = pointsFor(newGrade, newStatus);
+        double pointsDelta = (after != null ? after * credits : 0) - (before != null ? before * credits : 0);
+        int creditsDelta = (after != null ? credits : 0) - (before != null ? credits : 0);
+        if (pointsDelta == 0 && creditsDelta == 0) {
+            return;
+        }
+
+        Long studentId = enrollment.getStudent().getId();
+        Long trimesterId = enrollment.getProgramCourse().getTrimester().getId();
+        int updated = termGpaRepository.applyDelta(studentId, trimesterId, pointsDelta, creditsDelta);
+        if (updated == 0 || studentGpaRepository.applyDelta(studentId, pointsDelta, creditsDelta) == 0) {
+            // No running total yet for this student or term, so seed it from the enrollments
+            recomputeStudents(List.of(studentId));
+        }
+    }
+
+    @Transactional
+    public void recomputeStudent(Long studentId) {
+        recomputeStudents(List.of(studentId));
+    }
+
+    // Rebuilds every student's totals in parallel chunks, one transaction per chunk
+    @BatchJob
+    public int recomputeAll() {
+        List<Long> studentIds = studentRepository.findAllIds();
+        BatchWork.inChunks("GPA recompute", studentIds, RECOMPUTE_CHUNK_SIZE, blockingThreads.factory("gpa-recompute-"),
+                transactionTemplate, this::recomputeStudents);
+        academicVersionService.bumpAll();
+        return studentIds.size();
+    }
+
+    @Transactional
+    public void recomputeStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        // [quality points, credits] keyed by student and by student:trimester
+        Map<Long, double[]> cumulative = new HashMap<>();
+        Map<String, double[]> terms = new HashMap<>();
+        for (Object[] row : studentCourseEnrollmentRepository.sumGradedCreditsByTermAndGrade(studentIds)) {
+            Double points = pointsFor((String) row[2], EnrollmentStatus.COMPLETED);
+            if (points == null) {
+                continue;
+            }
+            int credits = ((Number) row[3]).intValue();
+            add(cumulative.computeIfAbsent((Long) row[0], id -> new double[2]), points * credits, credits);
+            add(terms.computeIfAbsent(row[0] + ":" + row[1], key -> new double[2]), points * credits, credits);
+        }
+
+        Map<Long, StudentGpa> existingCumulative = studentGpaRepository.findByStudentIdIn(studentIds).stream()
+                .collect(Collectors.toMap(g -> g.getStudent().getId(), Function.identity()));
+        List<StudentGpa> cumulativeToSave = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            double[] total = cumulative.getOrDefault(studentId, new double[2]);
+            StudentGpa gpa = existingCumulative.get(studentId);
+            if (gpa == null) {
+                gpa = StudentGpa.builder().student(studentRepository.getReferenceById(studentId)).build();
+            }
+            gpa.setQualityPoints(total[0]);
+            gpa.setCreditsAttempted((int) total[1]);
+            cumulativeToSave.add(gpa);
+        }
+        studentGpaRepository.saveAll(cumulativeToSave);
+
+        List<TermGpa> termsToSave = new ArrayList<>();
+        List<TermGpa> termsToDelete = new ArrayList<>();
+        for (TermGpa term : termGpaRepository.findByStudentIdIn(studentIds)) {
+            double[] total = terms.remove(term.getStudent().getId() + ":" + term.getTrimester().getId());
+            if (total == null) {
+                termsToDelete.add(term);
+                continue;
+            }
+            term.setQualityPoints(total[0]);
+            term.setCreditsAttempted((int) total[1]);
+            termsToSave.add(term);
+        }
+        terms.forEach((key, total) -> {
+            String[] ids = key.split(":");
+            termsToSave.add(TermGpa.builder()
+                    .student(studentRepository.getReferenceById(Long.valueOf(ids[0])))
+                    .trimester(trimesterRepository.getReferenceById(Long.valueOf(ids[1])))
+                    .qualityPoints(total[0])
+                    .creditsAttempted((int) total[1])
+                    .build());
+        });
+        termGpaRepository.deleteAll(termsToDelete);
+        termGpaRepository.saveAll(termsToSave);
+    }
+
+    // Cumulative GPA from the running totals, or null when nothing has been graded yet
+    @Transactional(readOnly = true)
+    public Double getCumulativeGpa(Long studentId) {
+        return studentGpaRepository.findByStudentId(studentId)
+                .map(gpa -> gpa(gpa.getQualityPoints(), gpa.getCreditsAttempted()))
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public GpaDTO getGpa(Long studentId) {
+        StudentGpa cumulative = studentGpaRepository.findByStudentId(studentId).orElse(null);
+        List<GpaDTO.TermGpaDTO> terms = termGpaRepository.findByStudentIdWithTrimester(studentId).stream()
+                .map(term -> new GpaDTO.TermGpaDTO(
+                        term.getTrimester().getId(),
+                        term.getTrimester().getName(),
+                        term.getTrimester().getAcademicYear(),
+                        gpa(term.getQualityPoints(), term.getCreditsAttempted()),
+                        term.getQualityPoints(),
+                        term.getCreditsAttempted()
+                ))
+                .collect(Collectors.toList());
+        if (cumulative == null) {
+            return new GpaDTO(studentId, null, 0, 0, terms);
+        }
+        return new GpaDTO(
+                studentId,
+                gpa(cumulative.getQualityPoints(), cumulative.getCreditsAttempted()),
+                cumulative.getQualityPoints(),
+                cumulative.getCreditsAttempted(),
+                terms
+        );
+    }
+
+    // Grade points earned by a graded enrollment, or null when it does not count towards GPA
+    private Double pointsFor(String grade, EnrollmentStatus status) {
+        if (grade == null || (status != EnrollmentStatus.COMPLETED && status != EnrollmentStatus.FAILED)) {
+            return null;
+        }
+        return gradeScale.getPoints().get(gradeScale.normalize(grade));
+    }
+
+    private static Double gpa(double qualityPoints, int credits) {
+        return credits == 0 ? null : qualityPoints / credits;
+    }
+
+    private static void add(double[] total, double points, int credits) {
+        total[0] += points;
+        total[1] += credits;
+    }
+}
@@ -0,0 +1,70 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.config.BatchJob;
+import com.university.portal.student_portal.dto.BulkGradeResultDTO;
+import com.university.portal.student_portal.dto.GradeEntryDTO;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses grade sheets and hands them to {@link GradeIngestionService#postGrades} through its
+ * proxy, so the whole sheet is written in that method's transaction or not at all.
+ */
+@Service
+@RequiredArgsConstructor
+public class GradeCsvService {
+
+    private final GradeIngestionService gradeIngestionService;
+
+    @BatchJob
+    public BulkGradeResultDTO postGradesFromCsv(Long programCourseId, MultipartFile file) throws IOException {
+        List<GradeEntryDTO> entries = new ArrayList<>();
+        try (InputStreamReader reader = new InputStreamReader(file.getInputStream());
+             CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
+            Map<String, Integer> headers = parser.getHeaderMap();
+            for (CSVRecord record : parser) {
+                GradeEntryDTO entry = new GradeEntryDTO();
+                if (headers.containsKey("Enrollment ID") && !record.get("Enrollment ID").isBlank()) {
+                    entry.setEnrollmentId(parseLong(record.get("Enrollment ID")));
+                }
+                if (headers.containsKey("Registration Number")) {
+                    entry.setRegistrationNumber(record.get("Registration Number"));
+                }
+                entry.setGrade(record.get("Grade"));
+                if (headers.containsKey("Score") && !record.get("Score").isBlank()) {
+                    entry.setScore(parseDouble(record.get("Score")));
+                }
+                entries.add(entry);
+            }
+        } catch (IllegalArgumentException e) {
+            return new BulkGradeResultDTO(entries.size(), 0, 0, List.of("Error: " + e.getMessage()));
+        }
+        return gradeIngestionService.postGrades(programCourseId, entries);
+    }
+
+    private Long parseLong(String value) {
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid enrollment id: " + value);
+        }
+    }
+
+    private Double parseDouble(String value) {
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid score: " + value);
+        }
+    }
+}
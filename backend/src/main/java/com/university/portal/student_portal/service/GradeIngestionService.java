@@ -0,0 +1,106 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.BulkGradeResultDTO;
+import com.university.portal.student_portal.dto.GradeEntryDTO;
+import com.university.portal.student_portal.entity.StudentCourseEnrollment;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class GradeIngestionService {
+
+    private static final String UPDATE_GRADE_SQL =
+            "UPDATE student_course_enrollment SET grade = ?, score = ?, status = ? WHERE id = ?";
+    private static final int JDBC_BATCH_SIZE = 200;
+
+    private final StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final GradeScale gradeScale;
+    private final DegreeAuditService degreeAuditService;
+    private final GpaService gpaService;
+    private final AcademicVersionService academicVersionService;
+
+    /**
+     * Validates the whole sheet against the class list first; nothing is written unless every
+     * row is valid. Updates go out as JDBC batches in one transaction, and derived totals are
+     * recomputed once per affected student rather than once per row.
+     */
+    @Transactional
+    public BulkGradeResultDTO postGrades(Long programCourseId, List<GradeEntryDTO> entries) {
+        List<StudentCourseEnrollment> classList = studentCourseEnrollmentRepository.findByProgramCourseId(programCourseId);
+        Map<Long, StudentCourseEnrollment> byId = new HashMap<>();
+        Map<String, StudentCourseEnrollment> byRegistrationNumber = new HashMap<>();
+        for (StudentCourseEnrollment enrollment : classList) {
+            byId.put(enrollment.getId(), enrollment);
+            byRegistrationNumber.put(enrollment.getStudent().getRegistrationNumber(), enrollment);
+        }
+
+        List<String> errors = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        Set<Long> studentIds = new LinkedHashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            GradeEntryDTO entry = entries.get(i);
+            String row = "Row " + (i + 1) + ": ";
+
+            StudentCourseEnrollment enrollment = entry.getEnrollmentId() != null
+                    ? byId.get(entry.getEnrollmentId())
+                    : entry.getRegistrationNumber() != null ? byRegistrationNumber.get(entry.getRegistrationNumber().trim()) : null;
+            if (enrollment == null) {
+                errors.add(row + "no enrollment in this course for "
+                        + (entry.getEnrollmentId() != null ? "enrollment " + entry.getEnrollmentId() : entry.getRegistrationNumber()));
+                continue;
+            }
+            if (!seen.add(enrollment.getId())) {
+                errors.add(row + "duplicate entry for " + enrollment.getStudent().getRegistrationNumber());
+                continue;
+            }
+            if (enrollment.getStatus() == StudentCourseEnrollment.EnrollmentStatus.DROPPED) {
+                errors.add(row + enrollment.getStudent().getRegistrationNumber() + " has dropped this course");
+                continue;
+            }
+            if (!gradeScale.isValid(entry.getGrade())) {
+                errors.add(row + "invalid grade '" + entry.getGrade() + "'");
+                continue;
+            }
+            if (entry.getScore() != null && (entry.getScore() < 0 || entry.getScore() > 100)) {
+                errors.add(row + "score must be between 0 and 100");
+                continue;
+            }
+
+            String grade = gradeScale.normalize(entry.getGrade());
+            updates.add(new Object[]{
+                    grade,
+                    entry.getScore(),
+                    StudentCourseEnrollmentService.statusForGrade(grade).name(),
+                    enrollment.getId()
+            });
+            studentIds.add(enrollment.getStudent().getId());
+        }
+
+        if (!errors.isEmpty()) {
+            return new BulkGradeResultDTO(entries.size(), 0, 0, errors);
+        }
+
+        for (int from = 0; from < updates.size(); from += JDBC_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(UPDATE_GRADE_SQL, updates.subList(from, Math.min(from + JDBC_BATCH_SIZE, updates.size())));
+        }
+        degreeAuditService.recomputeStudents(studentIds);
+        gpaService.recomputeStudents(studentIds);
+        academicVersionService.bumpStudents(studentIds);
+
+        return new BulkGradeResultDTO(entries.size(), updates.size(), studentIds.size(), List.of());
+    }
+}
@@ -0,0 +1,33 @@
+package com.university.portal.student_portal.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Letter grades accepted by the portal and their grade points; override with portal.grading.points.*
+@Component
+@ConfigurationProperties(prefix = "portal.grading")
+@Getter
+@Setter
+public class GradeScale {
+
+    private Map<String, Double> points = new LinkedHashMap<>(Map.of(
+            "A", 4.0,
+            "B", 3.0,
+            "C", 2.0,
+            "D", 1.0,
+            "F", 0.0
+    ));
+
+    public boolean isValid(String grade) {
+        return grade != null && points.containsKey(normalize(grade));
+    }
+
+    public String normalize(String grade) {
+        return grade.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,109 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.config.BatchJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-off merge of the old {@code grade} table (grades keyed by program enrollment plus copied
+ * course code/title) into {@code student_course_enrollment}, which is now the only grade store.
+ * Each legacy row is matched to the course offering for the same program, trimester and course
+ * code. A grade already on the course enrollment wins; otherwise the legacy grade is copied, and
+ * a course enrollment is created if the student never had one. Migrated rows are deleted and the
+ * table is dropped once empty; rows with no matching offering are kept and logged.
+ */
+@Component
+@RequiredArgsConstructor
+public class LegacyGradeMigration implements CommandLineRunner {
+
+    private static final String LEGACY_TABLE_EXISTS =
+            "SELECT COUNT(*) FROM information_schema.tables " +
+            "WHERE LOWER(table_name) = 'grade' AND LOWER(table_schema) = LOWER(CURRENT_SCHEMA)";
+
+    private static final String LEGACY_ROWS =
+            "SELECT g.id AS grade_id, g.grade, e.student_id, e.enrolled_at, pc.id AS program_course_id, " +
+            "sce.id AS enrollment_id, sce.grade AS current_grade " +
+            "FROM grade g " +
+            "JOIN enrollment e ON e.id = g.enrollment_id " +
+            "LEFT JOIN course c ON UPPER(c.course_code) = UPPER(TRIM(g.course_code)) " +
+            "LEFT JOIN program_course pc ON pc.program_id = e.program_id AND pc.trimester_id = e.trimester_id " +
+            "AND pc.course_id = c.id " +
+            "LEFT JOIN student_course_enrollment sce ON sce.student_id = e.student_id AND sce.program_course_id = pc.id " +
+            "ORDER BY g.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GradeScale gradeScale;
+    private final GpaService gpaService;
+    private final DegreeAuditService degreeAuditService;
+    private final AcademicVersionService academicVersionService;
+
+    @Override
+    @BatchJob
+    @Transactional
+    public void run(String... args) {
+        Integer tables = jdbcTemplate.queryForObject(LEGACY_TABLE_EXISTS, Integer.class);
+        if (tables == null || tables == 0) {
+            return;
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> migrated = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        Set<Long> studentIds = new LinkedHashSet<>();
+        List<Long> unmatched = new ArrayList<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(LEGACY_ROWS)) {
+            Long gradeId = ((Number) row.get("grade_id")).longValue();
+            if (row.get("program_course_id") == null) {
+                unmatched.add(gradeId);
+                continue;
+            }
+            migrated.add(new Object[]{gradeId});
+
+            Long studentId = ((Number) row.get("student_id")).longValue();
+            Long programCourseId = ((Number) row.get("program_course_id")).longValue();
+            // Duplicate legacy rows for the same offering: the first one wins
+            if (row.get("current_grade") != null || !seen.add(studentId + ":" + programCourseId)) {
+                continue;
+            }
+            String grade = gradeScale.normalize((String) row.get("grade"));
+            String status = StudentCourseEnrollmentService.statusForGrade(grade).name();
+            if (row.get("enrollment_id") != null) {
+                updates.add(new Object[]{grade, status, ((Number) row.get("enrollment_id")).longValue()});
+            } else {
+                Object enrolledAt = row.get("enrolled_at");
+                inserts.add(new Object[]{studentId, programCourseId,
+                        enrolledAt != null ? enrolledAt : Timestamp.valueOf(LocalDateTime.now()), status, grade});
+            }
+            studentIds.add(studentId);
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE student_course_enrollment SET grade = ?, status = ? WHERE id = ?", updates);
+        jdbcTemplate.batchUpdate("INSERT INTO student_course_enrollment " +
+                "(student_id, program_course_id, enrolled_at, status, grade, is_active) VALUES (?, ?, ?, ?, ?, TRUE)", inserts);
+        jdbcTemplate.batchUpdate("DELETE FROM grade WHERE id = ?", migrated);
+        if (unmatched.isEmpty()) {
+            jdbcTemplate.execute("DROP TABLE grade");
+        }
+
+        gpaService.recomputeStudents(studentIds);
+        degreeAuditService.recomputeStudents(studentIds);
+        academicVersionService.bumpStudents(studentIds);
+        System.out.println("Merged legacy grades into course enrollments: " + updates.size() + " updated, "
+                + inserts.size() + " created");
+        if (!unmatched.isEmpty()) {
+            System.out.println("Legacy grades with no matching course offering, left in the grade table: " + unmatched);
+        }
+    }
+}
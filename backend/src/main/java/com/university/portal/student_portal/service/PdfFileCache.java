@@ -0,0 +1,162 @@
+package com.university.portal.student_portal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Local-disk cache of generated PDFs, content-addressed by a SHA-256 of the document kind and
+ * its rendering inputs. Identical inputs always map to the same file, so a hit never re-renders
+ * and the hash doubles as a strong ETag. Least recently used files are evicted once the directory
+ * outgrows {@code portal.pdf-cache.max-bytes}, except those handed out in the last
+ * {@link #IN_USE_GRACE}, so a download is not deleted between lookup and opening the file.
+ * Callers that open a file later should still render again on {@link NoSuchFileException}.
+ */
+@Component
+public class PdfFileCache {
+
+    private static final long IN_USE_GRACE = Duration.ofSeconds(30).toMillis();
+
+    @FunctionalInterface
+    public interface PdfWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    public record CachedPdf(Path path, String hash, long length, long lastModified) {
+        public String etag() {
+            return "\"" + hash + "\"";
+        }
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+    // Last hand-out per file since startup; files not used since then fall back to their write time
+    private final Map<Path, Long> lastUsed = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+
+    public PdfFileCache(@Value("${portal.pdf-cache.dir:${java.io.tmpdir}/student-portal-pdf-cache}") String directory,
+                        @Value("${portal.pdf-cache.max-bytes:536870912}") long maxBytes,
+                        ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(Paths.get(directory));
+        this.maxBytes = maxBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the cached file for these inputs, rendering it first on a miss. {@code kind} should
+     * carry a layout version so template changes do not serve stale documents.
+     */
+    public CachedPdf getOrRender(String kind, Object inputs, PdfWriter writer) throws IOException {
+        return getOrRender(key(kind, inputs), writer);
+    }
+
+    // Cache key for the inputs; hashing is cheap next to rendering, so callers can probe before queueing
+    public String key(String kind, Object inputs) throws IOException {
+        return hash(kind, objectMapper.writeValueAsBytes(inputs));
+    }
+
+    public Optional<CachedPdf> find(String hash) throws IOException {
+        Path file = directory.resolve(hash + ".pdf");
+        try {
+            return Optional.of(use(hash, file));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    public CachedPdf getOrRender(String hash, PdfWriter writer) throws IOException {
+        Optional<CachedPdf> cached = find(hash);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Path file = directory.resolve(hash + ".pdf");
+        // Render beside the target and move into place so readers never see a partial file
+        Path temp = Files.createTempFile(directory, hash, ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(out);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        CachedPdf rendered = use(hash, file);
+        evictLeastRecentlyUsed();
+        return rendered;
+    }
+
+    // Reads the attributes in one call, so a concurrent eviction shows up as NoSuchFileException
+    private CachedPdf use(String hash, Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        lastUsed.put(file, System.currentTimeMillis());
+        return new CachedPdf(file, hash, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    // One eviction at a time, so concurrent renders do not each delete files for the same excess
+    private void evictLeastRecentlyUsed() throws IOException {
+        synchronized (evictionLock) {
+            Map<Path, BasicFileAttributes> files = new HashMap<>();
+            try (Stream<Path> listing = Files.list(directory)) {
+                for (Path path : listing.filter(path -> path.toString().endsWith(".pdf")).toList()) {
+                    try {
+                        files.put(path, Files.readAttributes(path, BasicFileAttributes.class));
+                    } catch (NoSuchFileException e) {
+                        // Deleted since the listing
+                    }
+                }
+            }
+            long total = files.values().stream().mapToLong(BasicFileAttributes::size).sum();
+            if (total <= maxBytes) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            List<Map.Entry<Path, Long>> leastRecentFirst = files.keySet().stream()
+                    .map(path -> Map.entry(path, lastUsed.getOrDefault(path, files.get(path).lastModifiedTime().toMillis())))
+                    .sorted(Map.Entry.comparingByValue())
+                    .toList();
+            for (Map.Entry<Path, Long> entry : leastRecentFirst) {
+                if (total <= maxBytes || now - entry.getValue() < IN_USE_GRACE) {
+                    // Everything after this was used more recently
+                    break;
+                }
+                Path path = entry.getKey();
+                lastUsed.remove(path);
+                if (Files.deleteIfExists(path)) {
+                    total -= files.get(path).size();
+                }
+            }
+        }
+    }
+    private static String hash(String kind, byte[] inputs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(kind.getBytes());
+            digest.update((byte) 0);
+            digest.update(inputs);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
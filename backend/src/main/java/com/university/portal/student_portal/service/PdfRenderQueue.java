@@ -0,0 +1,207 @@
+package com.university.portal.student_portal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.portal.student_portal.dto.PdfRenderJobDTO;
+import com.university.portal.student_portal.service.PdfFileCache.CachedPdf;
+import com.university.portal.student_portal.service.PdfFileCache.PdfWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders PDFs on a dedicated fixed pool with a bounded queue, so heavy documents cannot tie up
+ * the servlet pool. Cached documents are returned without queueing; a full queue rejects new
+ * work with {@link RejectedExecutionException}. Callers either wait up to
+ * {@code portal.pdf-render.wait-timeout} or {@link #track} the render and fetch it later; at most
+ * {@code portal.pdf-render.max-waiters} (the queue capacity by default) requests wait at once, so
+ * waiting cannot take every request thread. A finished render's file may since have been evicted
+ * from the cache, so callers {@link #revalidate} it before sending. Publishes
+ * pdf.render.queue.depth, pdf.render.active, pdf.render.waiters, pdf.render.queue.wait,
+ * pdf.render.latency and pdf.render.rejected.
+ */
+@Component
+public class PdfRenderQueue {
+
+    public record RenderJob(String id, String owner, String filename, CompletableFuture<CachedPdf> result,
+                            LocalDateTime submittedAt) {
+    }
+
+    private final PdfFileCache pdfFileCache;
+    private final ThreadPoolExecutor executor;
+    private final Duration waitTimeout;
+    // Repeated requests for the same document while it renders share one render
+    private final Map<String, CompletableFuture<CachedPdf>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, RenderJob> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(10_000)
+            .build();
+    // Writers by cache key, kept longer than jobs so an evicted file can be rendered again
+    private final Cache<String, PdfWriter> writers = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(2))
+            .maximumSize(10_000)
+            .build();
+    private final int maxWaiters;
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Timer queueWait;
+    private final Timer renderLatency;
+    private final Counter rejected;
+
+    public PdfRenderQueue(PdfFileCache pdfFileCache,
+                          MeterRegistry meterRegistry,
+                          @Value("${portal.pdf-render.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+                          @Value("${portal.pdf-render.queue-capacity:32}") int queueCapacity,
+                          @Value("${portal.pdf-render.wait-timeout:10s}") Duration waitTimeout,
+                          @Value("${portal.pdf-render.max-waiters:${portal.pdf-render.queue-capacity:32}}") int maxWaiters) {
+        this.pdfFileCache = pdfFileCache;
+        this.waitTimeout = waitTimeout;
+        this.maxWaiters = maxWaiters;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "pdf-render-" + threadNumber.incrementAndGet()));
+
+        Gauge.builder("pdf.render.queue.depth", executor, e -> e.getQueue().size())
+                .description("PDF renders waiting for a render thread")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("PDF renders in progress")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.waiters", waiters, AtomicInteger::get)
+                .description("Requests holding their thread while waiting for a PDF render")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("pdf.render.queue.wait")
+                .description("Time a PDF render spent queued")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.renderLatency = Timer.builder("pdf.render.latency")
+                .description("Time to render and store a PDF")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("pdf.render.rejected")
+                .description("PDF renders refused because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<CachedPdf> submit(String kind, Object inputs, PdfWriter writer) throws IOException {
+        String key = pdfFileCache.key(kind, inputs);
+        writers.put(key, writer);
+        return render(key, writer);
+    }
+
+    /**
+     * The rendered document if its file is still cached, otherwise a new render of it: the file
+     * can be evicted between a render finishing and the document being sent, as for jobs fetched
+     * later. Throws NoSuchFileException when the document's inputs are no longer known.
+     */
+    public CompletableFuture<CachedPdf> revalidate(CachedPdf pdf) throws IOException {
+        PdfWriter writer = writers.getIfPresent(pdf.hash());
+        if (writer == null) {
+            return CompletableFuture.completedFuture(pdfFileCache.find(pdf.hash())
+                    .orElseThrow(() -> new NoSuchFileException(pdf.path().toString())));
+        }
+        return render(pdf.hash(), writer);
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    // Takes a waiter slot if one is free; pair with stopWaiting
+    public boolean startWaiting() {
+        if (waiters.incrementAndGet() > maxWaiters) {
+            waiters.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void stopWaiting() {
+        waiters.decrementAndGet();
+    }
+
+    public RenderJob track(String owner, String filename, CompletableFuture<CachedPdf> result) {
+        RenderJob job = new RenderJob(UUID.randomUUID().toString(), owner, filename, result, LocalDateTime.now());
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    // Points an existing job at a new render, e.g. after its file was evicted
+    public RenderJob retrack(RenderJob job, CompletableFuture<CachedPdf> result) {
+        RenderJob retracked = new RenderJob(job.id(), job.owner(), job.filename(), result, job.submittedAt());
+        jobs.put(job.id(), retracked);
+        return retracked;
+    }
+
+    // Jobs are only visible to the user who started them
+    public Optional<RenderJob> getJob(String jobId, String owner) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.owner().equals(owner));
+    }
+
+    public static PdfRenderJobDTO toDto(RenderJob job) {
+        CompletableFuture<CachedPdf> result = job.result();
+        String status = "PENDING";
+        String error = null;
+        if (result.isCompletedExceptionally()) {
+            status = "FAILED";
+            error = result.exceptionNow().getMessage();
+        } else if (result.isDone()) {
+            status = "READY";
+        }
+        return new PdfRenderJobDTO(job.id(), status, job.filename(), job.submittedAt(), error);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<CachedPdf> render(String key, PdfWriter writer) throws IOException {
+        Optional<CachedPdf> cached = pdfFileCache.find(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return inFlight.computeIfAbsent(key, k -> schedule(k, writer));
+    }
+
+    private CompletableFuture<CachedPdf> schedule(String key, PdfWriter writer) {
+        CompletableFuture<CachedPdf> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    future.complete(renderLatency.recordCallable(() -> pdfFileCache.getOrRender(key, writer)));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        return future;
+    }
+}
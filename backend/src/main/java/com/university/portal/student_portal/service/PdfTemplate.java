@@ -0,0 +1,118 @@
+package com.university.portal.student_portal.service;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * The static part of an A4 page (titles, labels, rules) drawn once when the renderer is created.
+ * Its content stream is kept Flate-compressed, so each document only copies those bytes into a
+ * form XObject, draws the form on every page and stamps its variable fields on top. The form's
+ * resources only point at the shared standard fonts and are shared by every document.
+ */
+final class PdfTemplate {
+
+    static final PDFont BOLD = PDType1Font.HELVETICA_BOLD;
+    static final PDFont REGULAR = PDType1Font.HELVETICA;
+
+    private static final long MAX_MAIN_MEMORY_BYTES = 1024 * 1024;
+
+    @FunctionalInterface
+    interface Layout {
+        void draw(PDPageContentStream content) throws IOException;
+    }
+
+    private final byte[] compressedContent;
+    private final PDResources resources = new PDResources();
+
+    PdfTemplate(Layout layout) throws IOException {
+        ByteArrayOutputStream operators = new ByteArrayOutputStream();
+        try (PDDocument scratch = new PDDocument()) {
+            PDFormXObject form = new PDFormXObject(scratch);
+            form.setResources(resources);
+            try (PDPageContentStream content = new PDPageContentStream(scratch, form, operators)) {
+                layout.draw(content);
+            }
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(compressed)) {
+            operators.writeTo(out);
+        }
+        this.compressedContent = compressed.toByteArray();
+    }
+
+    // The no-arg PDDocument preallocates a main-memory page table of ~400KB; this one grows on demand
+    // and spills to a scratch file past a small in-memory budget
+    static PDDocument newDocument() throws IOException {
+        return new PDDocument(MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES));
+    }
+
+    // Create once per document and draw on each page with PDPageContentStream.drawForm
+    PDFormXObject newForm(PDDocument doc) throws IOException {
+        PDFormXObject form = new PDFormXObject(doc);
+        form.setBBox(PDRectangle.A4);
+        form.setResources(resources);
+        try (OutputStream out = form.getCOSObject().createRawOutputStream()) {
+            out.write(compressedContent);
+        }
+        form.getCOSObject().setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        return form;
+    }
+
+    static void text(PDPageContentStream content, PDFont font, float size, float x, float y, String text) throws IOException {
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, y);
+        content.showText(encodable(font, text));
+        content.endText();
+    }
+
+    static float width(PDFont font, float size, String text) throws IOException {
+        return font.getStringWidth(text) / 1000 * size;
+    }
+
+    // The standard fonts only cover WinAnsi; replace anything else rather than fail the whole document
+    static String encodable(PDFont font, String text) throws IOException {
+        if (text == null) {
+            return "";
+        }
+        if (isPrintableAscii(text)) {
+            // WinAnsi covers all of printable ASCII, which is nearly every name and course title
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            String character = new String(Character.toChars(codePoint));
+            try {
+                font.encode(character);
+                result.append(character);
+            } catch (IllegalArgumentException e) {
+                result.append('?');
+            }
+            i += Character.charCount(codePoint);
+        }
+        return result.toString();
+    }
+
+    private static boolean isPrintableAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
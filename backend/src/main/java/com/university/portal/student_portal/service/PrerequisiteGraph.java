@@ -0,0 +1,274 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.entity.ProgramCourse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable prerequisite DAG for one program. Every course code seen in the program's
+ * offerings (or named as a prerequisite) gets a bit position, and each offering keeps its
+ * prerequisites as a bitmask so eligibility is a handful of word-level ANDs.
+ */
+public final class PrerequisiteGraph {
+
+    private final Map<Long, Offering> offerings;
+    private final Map<String, Integer> bitIndex;
+    private final String[] codesByBit;
+    private final Map<Long, long[]> offeringMasks;
+    private final long[][] codeMasks; // union of prerequisite masks of every offering of a code
+    private final int words;
+
+    private PrerequisiteGraph(Map<Long, Offering> offerings, Map<String, Integer> bitIndex,
+                              Map<Long, long[]> offeringMasks, long[][] codeMasks) {
+        this.offerings = offerings;
+        this.bitIndex = bitIndex;
+        this.offeringMasks = offeringMasks;
+        this.codeMasks = codeMasks;
+        this.words = wordsFor(bitIndex.size());
+        this.codesByBit = new String[bitIndex.size()];
+        bitIndex.forEach((code, bit) -> codesByBit[bit] = code);
+    }
+
+    public static PrerequisiteGraph compile(Collection<ProgramCourse> programCourses) {
+        Map<Long, Offering> offerings = new LinkedHashMap<>();
+        for (ProgramCourse pc : programCourses) {
+            offerings.put(pc.getId(), Offering.of(pc));
+        }
+        return compile(offerings);
+    }
+
+    private static PrerequisiteGraph compile(Map<Long, Offering> offerings) {
+        Map<String, Integer> bitIndex = new HashMap<>();
+        for (Offering offering : offerings.values()) {
+            bitIndex.putIfAbsent(offering.courseCode(), bitIndex.size());
+            for (String prerequisite : offering.prerequisites()) {
+                bitIndex.putIfAbsent(prerequisite, bitIndex.size());
+            }
+        }
+
+        int words = wordsFor(bitIndex.size());
+        Map<Long, long[]> offeringMasks = new HashMap<>();
+        long[][] codeMasks = new long[bitIndex.size()][words];
+        for (Map.Entry<Long, Offering> entry : offerings.entrySet()) {
+            long[] mask = maskOf(entry.getValue().prerequisites(), bitIndex, words);
+            offeringMasks.put(entry.getKey(), mask);
+            or(codeMasks[bitIndex.get(entry.getValue().courseCode())], mask);
+        }
+
+        PrerequisiteGraph graph = new PrerequisiteGraph(offerings, bitIndex, offeringMasks, codeMasks);
+        graph.assertAcyclic();
+        return graph;
+    }
+
+    /**
+     * Returns a graph with a single offering added or replaced. When the offering only
+     * references known course codes, just that offering's mask and its code's node are
+     * recomputed; otherwise the bit index is rebuilt from the in-memory offerings.
+     */
+    public PrerequisiteGraph withOffering(Long offeringId, ProgramCourse programCourse) {
+        Offering offering = Offering.of(programCourse);
+        Map<Long, Offering> updatedOfferings = new LinkedHashMap<>(offerings);
+        updatedOfferings.put(offeringId, offering);
+
+        boolean knownCodes = bitIndex.containsKey(offering.courseCode())
+                && bitIndex.keySet().containsAll(offering.prerequisites());
+        if (!knownCodes) {
+            return compile(updatedOfferings);
+        }
+
+        Map<Long, long[]> updatedMasks = new HashMap<>(offeringMasks);
+        updatedMasks.put(offeringId, maskOf(offering.prerequisites(), bitIndex, words));
+
+        long[][] updatedCodeMasks = codeMasks.clone();
+        Set<String> touchedCodes = new LinkedHashSet<>();
+        touchedCodes.add(offering.courseCode());
+        Offering previous = offerings.get(offeringId);
+        if (previous != null) {
+            touchedCodes.add(previous.courseCode());
+        }
+        for (String code : touchedCodes) {
+            long[] union = new long[words];
+            updatedOfferings.forEach((id, o) -> {
+                if (o.courseCode().equals(code)) {
+                    or(union, updatedMasks.get(id));
+                }
+            });
+            updatedCodeMasks[bitIndex.get(code)] = union;
+        }
+
+        PrerequisiteGraph graph = new PrerequisiteGraph(updatedOfferings, bitIndex, updatedMasks, updatedCodeMasks);
+        graph.assertAcyclic();
+        return graph;
+    }
+
+    public PrerequisiteGraph withoutOffering(Long offeringId) {
+        if (!offerings.containsKey(offeringId)) {
+            return this;
+        }
+        Map<Long, Offering> updatedOfferings = new LinkedHashMap<>(offerings);
+        updatedOfferings.remove(offeringId);
+        return compile(updatedOfferings);
+    }
+
+    public boolean containsOffering(Long offeringId) {
+        return offeringMasks.containsKey(offeringId);
+    }
+
+    public long[] toBitset(Collection<String> courseCodes) {
+        long[] bits = new long[words];
+        for (String code : courseCodes) {
+            Integer bit = code == null ? null : bitIndex.get(normalize(code));
+            if (bit != null) {
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+
+    public boolean isEligible(Long offeringId, long[] completed) {
+        long[] mask = mask(offeringId);
+        for (int i = 0; i < words; i++) {
+            if ((mask[i] & ~completed[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<String> missingPrerequisites(Long offeringId, long[] completed) {
+        long[] mask = mask(offeringId);
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < words; i++) {
+            long remaining = mask[i] & ~completed[i];
+            while (remaining != 0) {
+                int bit = (i << 6) + Long.numberOfTrailingZeros(remaining);
+                missing.add(codesByBit[bit]);
+                remaining &= remaining - 1;
+            }
+        }
+        return missing;
+    }
+
+    // Unknown offerings are an error rather than "no prerequisites"; merge them in with withOffering first
+    private long[] mask(Long offeringId) {
+        long[] mask = offeringMasks.get(offeringId);
+        if (mask == null) {
+            throw new IllegalStateException("Offering " + offeringId + " is not in this prerequisite graph");
+        }
+        return mask;
+    }
+
+    private void assertAcyclic() {
+        // Iterative three-colour DFS over the course-code nodes
+        int n = codesByBit.length;
+        byte[] state = new byte[n]; // 0 = unvisited, 1 = on stack, 2 = done
+        int[] parent = new int[n];
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (state[root] != 0) continue;
+            int depth = 0;
+            cursor[0] = 0;
+            stack[0] = root;
+            parent[root] = -1;
+            state[root] = 1;
+            while (depth >= 0) {
+                int node = stack[depth];
+                int next = nextBit(codeMasks[node], cursor[depth]);
+                if (next < 0) {
+                    state[node] = 2;
+                    depth--;
+                    continue;
+                }
+                cursor[depth] = next + 1;
+                if (state[next] == 1) {
+                    throw new IllegalStateException("Prerequisite cycle detected: " + describeCycle(parent, node, next));
+                }
+                if (state[next] == 0) {
+                    state[next] = 1;
+                    parent[next] = node;
+                    depth++;
+                    stack[depth] = next;
+                    cursor[depth] = 0;
+                }
+            }
+        }
+    }
+
+    private String describeCycle(int[] parent, int from, int to) {
+        List<String> path = new ArrayList<>();
+        path.add(codesByBit[to]);
+        for (int node = from; node != to && node >= 0; node = parent[node]) {
+            path.add(codesByBit[node]);
+        }
+        path.add(codesByBit[to]);
+        Collections.reverse(path);
+        // Edges point from a course to its prerequisites, so read the path as "requires"
+        return String.join(" requires ", path);
+    }
+
+    private static int nextBit(long[] mask, int from) {
+        int word = from >>> 6;
+        if (word >= mask.length) return -1;
+        long current = mask[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == mask.length) {
+                return -1;
+            }
+            current = mask[word];
+        }
+    }
+
+    private static long[] maskOf(Set<String> codes, Map<String, Integer> bitIndex, int words) {
+        long[] mask = new long[words];
+        for (String code : codes) {
+            int bit = bitIndex.get(code);
+            mask[bit >>> 6] |= 1L << bit;
+        }
+        return mask;
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    private static int wordsFor(int bits) {
+        return Math.max(1, (bits + 63) >>> 6);
+    }
+
+    static String normalize(String courseCode) {
+        return courseCode.trim().toUpperCase();
+    }
+
+    static Set<String> parsePrerequisites(String prerequisites) {
+        Set<String> codes = new LinkedHashSet<>();
+        if (prerequisites == null) {
+            return codes;
+        }
+        for (String code : prerequisites.split(",")) {
+            if (!code.isBlank()) {
+                codes.add(normalize(code));
+            }
+        }
+        return codes;
+    }
+
+    private record Offering(String courseCode, Set<String> prerequisites) {
+        static Offering of(ProgramCourse pc) {
+            return new Offering(normalize(pc.getCourse().getCourseCode()), parsePrerequisites(pc.getPrerequisites()));
+        }
+    }
+}
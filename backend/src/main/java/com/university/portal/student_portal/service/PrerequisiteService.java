@@ -0,0 +1,134 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.CourseEligibilityDTO;
+import com.university.portal.student_portal.entity.ProgramCourse;
+import com.university.portal.student_portal.repository.ProgramCourseRepository;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PrerequisiteService {
+
+    public static final String INVALIDATION_REGION = "prerequisite-graphs";
+
+    private final ProgramCourseRepository programCourseRepository;
+    private final StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    // Compiled graphs per program id, built lazily on first use
+    private final Map<Long, PrerequisiteGraph> graphs = new ConcurrentHashMap<>();
+    // Bumped on every change to a program's offerings, so a graph compiled across a change is not cached
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // Other nodes drop the graph and recompile it from the database on next use
+    @PostConstruct
+    void subscribe() {
+        cacheInvalidationBus.subscribe(INVALIDATION_REGION, key -> {
+            if (CacheInvalidationBus.ALL.equals(key)) {
+                versions.values().forEach(AtomicLong::incrementAndGet);
+                graphs.clear();
+            } else {
+                graphs.compute(Long.valueOf(key), (programId, graph) -> {
+                    version(programId).incrementAndGet();
+                    return null;
+                });
+            }
+        });
+    }
+
+    public PrerequisiteGraph getGraph(Long programId) {
+        PrerequisiteGraph graph = graphs.get(programId);
+        if (graph != null) {
+            return graph;
+        }
+        long version = version(programId).get();
+        PrerequisiteGraph compiled = PrerequisiteGraph.compile(programCourseRepository.findByProgramId(programId));
+        // An offering saved while compiling may be missing from it; such a graph answers this call only
+        PrerequisiteGraph published = graphs.compute(programId, (id, current) ->
+                current != null ? current : version(id).get() == version ? compiled : null);
+        return published != null ? published : compiled;
+    }
+
+    // The program's graph, extended with any of these offerings it does not have yet: they were
+    // added after it was compiled (e.g. on another node, before its invalidation arrived), and
+    // the graph alone would treat them as having no prerequisites
+    private PrerequisiteGraph getGraph(Long programId, Collection<ProgramCourse> programCourses) {
+        PrerequisiteGraph graph = getGraph(programId);
+        PrerequisiteGraph merged = graph;
+        for (ProgramCourse programCourse : programCourses) {
+            if (!merged.containsOffering(programCourse.getId())) {
+                merged = merged.withOffering(programCourse.getId(), programCourse);
+            }
+        }
+        if (merged != graph) {
+            PrerequisiteGraph update = merged;
+            graphs.computeIfPresent(programId, (id, current) -> current == graph ? update : current);
+        }
+        return merged;
+    }
+
+    private AtomicLong version(Long programId) {
+        return versions.computeIfAbsent(programId, id -> new AtomicLong());
+    }
+
+    // Throws IllegalStateException if saving this offering would introduce a cycle
+    public void validate(ProgramCourse programCourse) {
+        Long key = programCourse.getId() != null ? programCourse.getId() : Long.MIN_VALUE;
+        getGraph(programCourse.getProgram().getId()).withOffering(key, programCourse);
+    }
+
+    public void onProgramCourseSaved(ProgramCourse programCourse) {
+        graphs.compute(programCourse.getProgram().getId(), (programId, graph) -> {
+            version(programId).incrementAndGet();
+            return graph == null ? null : graph.withOffering(programCourse.getId(), programCourse);
+        });
+        cacheInvalidationBus.publish(INVALIDATION_REGION, programCourse.getProgram().getId());
+    }
+
+    public void onProgramCourseRemoved(Long programId, Long programCourseId) {
+        graphs.compute(programId, (id, graph) -> {
+            version(id).incrementAndGet();
+            return graph == null ? null : graph.withoutOffering(programCourseId);
+        });
+        cacheInvalidationBus.publish(INVALIDATION_REGION, programId);
+    }
+
+    public long[] getCompletedCourses(Long studentId, PrerequisiteGraph graph) {
+        return graph.toBitset(studentCourseEnrollmentRepository.findCompletedCourseCodesByStudentId(studentId));
+    }
+
+    public List<String> getMissingPrerequisites(Long studentId, ProgramCourse programCourse) {
+        PrerequisiteGraph graph = getGraph(programCourse.getProgram().getId(), List.of(programCourse));
+        return graph.missingPrerequisites(programCourse.getId(), getCompletedCourses(studentId, graph));
+    }
+
+    public List<CourseEligibilityDTO> getEligibility(Long studentId, Long programId, Long trimesterId) {
+        List<ProgramCourse> programCourses = programCourseRepository.findByProgramIdAndTrimesterIdAndIsActiveTrue(programId, trimesterId);
+        PrerequisiteGraph graph = getGraph(programId, programCourses);
+        long[] completed = getCompletedCourses(studentId, graph);
+        return programCourses.stream()
+                .map(pc -> {
+                    List<String> missing = graph.isEligible(pc.getId(), completed)
+                            ? List.of()
+                            : graph.missingPrerequisites(pc.getId(), completed);
+                    return new CourseEligibilityDTO(
+                            pc.getId(),
+                            pc.getCourse().getCourseCode(),
+                            pc.getCourse().getCourseTitle(),
+                            missing.isEmpty(),
+                            missing
+                    );
+                })
+                .collect(Collectors.toList());
+    }
+}
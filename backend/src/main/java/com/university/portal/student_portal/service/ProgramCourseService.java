@@ -1,14 +1,19 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.config.CacheConfig;
 import com.university.portal.student_portal.entity.ProgramCourse;
 import com.university.portal.student_portal.entity.Program;
 import com.university.portal.student_portal.entity.Course;
 import com.university.portal.student_portal.entity.Trimester;
 import com.university.portal.student_portal.repository.ProgramCourseRepository;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -16,7 +21,14 @@ import java.util.Optional;
 public class ProgramCourseService {
 
     private final ProgramCourseRepository programCourseRepository;
-
+    private final PrerequisiteService prerequisiteService;
+    private final TimetableService timetableService;
+    private final StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+    private final GpaService gpaService;
+    private final DegreeAuditService degreeAuditService;
+    private final AcademicVersionService academicVersionService;
+
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_TRIMESTERS, allEntries = true)
     public ProgramCourse addCourseToProgram(Program program, Course course, Trimester trimester, int creditHours, boolean isCore, String prerequisites) {
         // Check if this course is already added to this program for this trimester
         if (programCourseRepository.existsByProgramIdAndCourseIdAndTrimesterId(program.getId(), course.getId(), trimester.getId())) {
@@ -33,17 +45,23 @@ public class ProgramCourseService {
                 .isActive(true)
                 .build();
 
-        return programCourseRepository.save(programCourse);
+        prerequisiteService.validate(programCourse);
+        ProgramCourse saved = programCourseRepository.save(programCourse);
+        prerequisiteService.onProgramCourseSaved(saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<ProgramCourse> getCoursesByProgramAndTrimester(Long programId, Long trimesterId) {
         return programCourseRepository.findByProgramIdAndTrimesterIdAndIsActiveTrue(programId, trimesterId);
     }
 
+    @Transactional(readOnly = true)
     public List<ProgramCourse> getCoursesByTrimester(Long trimesterId) {
         return programCourseRepository.findByTrimesterId(trimesterId);
     }
 
+    @Transactional(readOnly = true)
     public List<ProgramCourse> getCoursesByProgram(Long programId) {
         return programCourseRepository.findByProgramId(programId);
     }
@@ -52,22 +70,52 @@ public class ProgramCourseService {
         return programCourseRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_TRIMESTERS, allEntries = true)
     public ProgramCourse updateProgramCourse(Long id, ProgramCourse updatedProgramCourse) {
         ProgramCourse programCourse = programCourseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Program course not found"));
 
+        boolean prerequisitesChanged = !Objects.equals(programCourse.getPrerequisites(), updatedProgramCourse.getPrerequisites());
+        boolean weightingChanged = programCourse.getCreditHours() != updatedProgramCourse.getCreditHours()
+                || programCourse.isCore() != updatedProgramCourse.isCore();
+
         programCourse.setCreditHours(updatedProgramCourse.getCreditHours());
         programCourse.setCore(updatedProgramCourse.isCore());
         programCourse.setActive(updatedProgramCourse.isActive());
         programCourse.setPrerequisites(updatedProgramCourse.getPrerequisites());
 
-        return programCourseRepository.save(programCourse);
+        // Reject cycles before persisting, then patch only this offering in the compiled graph
+        if (prerequisitesChanged) {
+            prerequisiteService.validate(programCourse);
+        }
+        ProgramCourse saved = programCourseRepository.save(programCourse);
+        if (prerequisitesChanged) {
+            prerequisiteService.onProgramCourseSaved(saved);
+        }
+        if (weightingChanged) {
+            // Credit hours and core status feed the stored GPA and degree audit totals
+            List<Long> studentIds = studentCourseEnrollmentRepository.findByProgramCourseId(id).stream()
+                    .map(e -> e.getStudent().getId())
+                    .distinct()
+                    .toList();
+            gpaService.recomputeStudents(studentIds);
+            degreeAuditService.recomputeStudents(studentIds);
+            academicVersionService.bumpStudents(studentIds);
+        }
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_TRIMESTERS, allEntries = true)
     public void deleteProgramCourse(Long id) {
-        programCourseRepository.deleteById(id);
+        programCourseRepository.findById(id).ifPresent(programCourse -> {
+            timetableService.deleteSlotsByProgramCourse(id);
+            programCourseRepository.delete(programCourse);
+            prerequisiteService.onProgramCourseRemoved(programCourse.getProgram().getId(), id);
+            academicVersionService.bumpAll();
+        });
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_TRIMESTERS, allEntries = true)
     public void deactivateProgramCourse(Long id) {
         ProgramCourse programCourse = programCourseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Program course not found"));
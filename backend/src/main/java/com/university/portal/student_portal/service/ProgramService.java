@@ -1,9 +1,14 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.config.CacheConfig;
+import com.university.portal.student_portal.dto.TrimesterDTO.ProgramDTO;
 import com.university.portal.student_portal.entity.Program;
 import com.university.portal.student_portal.repository.ProgramRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,19 +17,28 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProgramService {
     private final ProgramRepository programRepository;
+    private final AcademicVersionService academicVersionService;
 
-    public List<Program> getAllPrograms() {
-        return programRepository.findAll();
+    // Mapped before caching so no detached entity with lazy collections is ever shared
+    @Cacheable(CacheConfig.PROGRAMS)
+    @Transactional(readOnly = true)
+    public List<ProgramDTO> getAllPrograms() {
+        return programRepository.findAll().stream()
+                .map(ProgramDTO::fromEntity)
+                .toList();
     }
 
     public Optional<Program> getProgramById(Long id) {
         return programRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROGRAMS, allEntries = true)
     public Program createProgram(Program program) {
         return programRepository.save(program);
     }
 
+    // Active trimesters embed program titles in their offerings
+    @CacheEvict(cacheNames = {CacheConfig.PROGRAMS, CacheConfig.ACTIVE_TRIMESTERS}, allEntries = true)
     public Program updateProgram(Long id, Program updated) {
         Program program = programRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Program not found"));
@@ -40,10 +54,14 @@ public class ProgramService {
             }
         }
 
-        return programRepository.save(program);
+        Program saved = programRepository.save(program);
+        academicVersionService.bumpAll();
+        return saved;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PROGRAMS, CacheConfig.ACTIVE_TRIMESTERS}, allEntries = true)
     public void deleteProgram(Long id) {
         programRepository.deleteById(id);
+        academicVersionService.bumpAll();
     }
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.config.SingleFlight;
 import com.university.portal.student_portal.dto.FeeStatusResponse;
 import com.university.portal.student_portal.dto.PaymentsSummaryReport;
 import com.university.portal.student_portal.dto.EnrollmentsByProgramReport;
@@ -11,6 +12,7 @@ import com.university.portal.student_portal.repository.StudentRepository;
 import com.university.portal.student_portal.repository.ProgramRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,10 +23,16 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @Service
 @RequiredArgsConstructor
 public class ReportService {
+    // Dashboards request all reports at once from several admins; identical calls share one computation
+    private static final String RESULT_TTL = "${portal.reports.result-ttl:5s}";
+
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
     private final ProgramRepository programRepository;
 
+    // Its own transaction for the lazy enrollments; a shared computation cannot rely on the caller's session
+    @SingleFlight(ttl = RESULT_TTL)
+    @Transactional(readOnly = true)
     public List<EnrollmentsByProgramReport> getEnrollmentsByProgram() {
         List<Program> programs = programRepository.findAll();
         return programs.stream().map(program -> {
@@ -40,6 +48,8 @@ public class ReportService {
         }).collect(Collectors.toList());
     }
 
+    @SingleFlight(ttl = RESULT_TTL)
+    @Transactional(readOnly = true)
     public List<FeeStatusResponse> getOutstandingBalances() {
         return studentRepository.findAll().stream()
             .filter(s -> s.getBalance() != null && s.getBalance().compareTo(BigDecimal.ZERO) > 0)
@@ -47,6 +57,8 @@ public class ReportService {
             .collect(Collectors.toList());
     }
 
+    @SingleFlight(ttl = RESULT_TTL)
+    @Transactional(readOnly = true)
     public PaymentsSummaryReport getPaymentsSummary() {
         List<Student> students = studentRepository.findAll();
         BigDecimal totalPaid = students.stream().map(s -> s.getTotalPaid() == null ? BigDecimal.ZERO : s.getTotalPaid()).reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -6,6 +6,7 @@ import com.university.portal.student_portal.entity.ProgramCourse;
 import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,6 +18,12 @@ public class StudentCourseEnrollmentService {
 
     private final StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
     private final TrimesterService trimesterService;
+    private final PrerequisiteService prerequisiteService;
+    private final DegreeAuditService degreeAuditService;
+    private final GpaService gpaService;
+    private final TimetableService timetableService;
+    private final GradeScale gradeScale;
+    private final AcademicVersionService academicVersionService;
 
     public StudentCourseEnrollment enrollStudentInCourse(Student student, ProgramCourse programCourse) {
         // Check if student is already enrolled in this course for this trimester
@@ -27,6 +34,13 @@ public class StudentCourseEnrollmentService {
         // Validate course enrollment limits
         validateEnrollmentLimits(student.getId(), programCourse.getTrimester().getId(), programCourse.getTrimester());
 
+        List<String> missingPrerequisites = prerequisiteService.getMissingPrerequisites(student.getId(), programCourse);
+        if (!missingPrerequisites.isEmpty()) {
+            throw new IllegalStateException("Missing prerequisites: " + String.join(", ", missingPrerequisites));
+        }
+
+        timetableService.assertNoClashes(student.getId(), programCourse.getTrimester().getId(), List.of(programCourse.getId()));
+
         StudentCourseEnrollment enrollment = StudentCourseEnrollment.builder()
                 .student(student)
                 .programCourse(programCourse)
@@ -35,7 +49,9 @@ public class StudentCourseEnrollmentService {
                 .isActive(true)
                 .build();
 
-        return studentCourseEnrollmentRepository.save(enrollment);
+        StudentCourseEnrollment saved = studentCourseEnrollmentRepository.save(enrollment);
+        academicVersionService.bumpStudent(student.getId());
+        return saved;
     }
 
     private void validateEnrollmentLimits(Long studentId, Long trimesterId, com.university.portal.student_portal.entity.Trimester trimester) {
@@ -62,40 +78,76 @@ public class StudentCourseEnrollmentService {
         return studentCourseEnrollmentRepository.findById(id);
     }
 
+    // The running audit and GPA totals move in the same transaction as the enrollment, under its row lock
+    @Transactional
     public StudentCourseEnrollment updateEnrollmentStatus(Long id, StudentCourseEnrollment.EnrollmentStatus status) {
-        StudentCourseEnrollment enrollment = studentCourseEnrollmentRepository.findById(id)
+        StudentCourseEnrollment enrollment = studentCourseEnrollmentRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
 
+        StudentCourseEnrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
         enrollment.setStatus(status);
-        return studentCourseEnrollmentRepository.save(enrollment);
+        StudentCourseEnrollment saved = studentCourseEnrollmentRepository.save(enrollment);
+        degreeAuditService.applyStatusChange(saved, previousStatus, saved.getStatus());
+        gpaService.applyGradeChange(saved, saved.getGrade(), previousStatus, saved.getGrade(), saved.getStatus());
+        academicVersionService.bumpStudent(saved.getStudent().getId());
+        return saved;
     }
 
+    @Transactional
     public StudentCourseEnrollment updateGrade(Long id, String grade, Double score) {
-        StudentCourseEnrollment enrollment = studentCourseEnrollmentRepository.findById(id)
+        StudentCourseEnrollment enrollment = studentCourseEnrollmentRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
 
+        if (grade != null) {
+            if (!gradeScale.isValid(grade)) {
+                throw new IllegalStateException("Invalid grade: " + grade);
+            }
+            grade = gradeScale.normalize(grade);
+        }
+
+        StudentCourseEnrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
+        String previousGrade = enrollment.getGrade();
         enrollment.setGrade(grade);
         enrollment.setScore(score);
-        if (grade != null && !grade.equals("F")) {
-            enrollment.setStatus(StudentCourseEnrollment.EnrollmentStatus.COMPLETED);
-        } else if (grade != null && grade.equals("F")) {
-            enrollment.setStatus(StudentCourseEnrollment.EnrollmentStatus.FAILED);
+        if (grade != null) {
+            enrollment.setStatus(statusForGrade(grade));
         }
 
-        return studentCourseEnrollmentRepository.save(enrollment);
+        StudentCourseEnrollment saved = studentCourseEnrollmentRepository.save(enrollment);
+        degreeAuditService.applyStatusChange(saved, previousStatus, saved.getStatus());
+        gpaService.applyGradeChange(saved, previousGrade, previousStatus, saved.getGrade(), saved.getStatus());
+        academicVersionService.bumpStudent(saved.getStudent().getId());
+        return saved;
+    }
+
+    static StudentCourseEnrollment.EnrollmentStatus statusForGrade(String grade) {
+        return grade.equals("F")
+                ? StudentCourseEnrollment.EnrollmentStatus.FAILED
+                : StudentCourseEnrollment.EnrollmentStatus.COMPLETED;
     }
 
+    @Transactional
     public void dropCourse(Long id) {
-        StudentCourseEnrollment enrollment = studentCourseEnrollmentRepository.findById(id)
+        StudentCourseEnrollment enrollment = studentCourseEnrollmentRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
 
+        StudentCourseEnrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
         enrollment.setStatus(StudentCourseEnrollment.EnrollmentStatus.DROPPED);
         enrollment.setActive(false);
         studentCourseEnrollmentRepository.save(enrollment);
+        degreeAuditService.applyStatusChange(enrollment, previousStatus, enrollment.getStatus());
+        gpaService.applyGradeChange(enrollment, enrollment.getGrade(), previousStatus, enrollment.getGrade(), enrollment.getStatus());
+        academicVersionService.bumpStudent(enrollment.getStudent().getId());
     }
 
+    @Transactional
     public void deleteEnrollment(Long id) {
-        studentCourseEnrollmentRepository.deleteById(id);
+        studentCourseEnrollmentRepository.findByIdForUpdate(id).ifPresent(enrollment -> {
+            studentCourseEnrollmentRepository.delete(enrollment);
+            degreeAuditService.applyStatusChange(enrollment, enrollment.getStatus(), null);
+            gpaService.applyGradeChange(enrollment, enrollment.getGrade(), enrollment.getStatus(), null, null);
+            academicVersionService.bumpStudent(enrollment.getStudent().getId());
+        });
     }
 
     public int getEnrollmentCountByStudentAndTrimester(Long studentId, Long trimesterId) {
@@ -24,6 +24,12 @@ public class StudentService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AcademicVersionService academicVersionService;
+
+    @Autowired
+    private TranscriptService transcriptService;
+
     public Student createStudent(Student student) {
         student.setPassword(passwordEncoder.encode(student.getPassword()));
         return studentRepository.save(student);
@@ -43,7 +49,11 @@ public class StudentService {
 
 
     public void deleteStudent(Long id) {
+        Optional<Student> student = studentRepository.findById(id);
         studentRepository.deleteById(id);
+        academicVersionService.bumpStudent(id);
+        // The registration number may be issued again, so it must not keep resolving to this id
+        student.ifPresent(s -> transcriptService.evictRegistrationNumber(s.getRegistrationNumber()));
     }
 
     public void changePassword(String registrationNumber, PasswordChangeRequest request) {
@@ -0,0 +1,94 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.MeetingSlotDTO;
+import com.university.portal.student_portal.dto.TimetableClashDTO;
+import com.university.portal.student_portal.dto.TimetableClashDTO.ClashType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sweep-line overlap detection over meeting slots. Slots are flattened to half-open
+ * minute-of-week intervals, sorted by start, and compared only against the slots that are
+ * still running, so a full cart is a sort of a few dozen ints.
+ */
+public final class TimetableClashDetector {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private TimetableClashDetector() {
+    }
+
+    // Clashes between different offerings, e.g. the courses in one student's cart
+    public static List<TimetableClashDTO> findCourseClashes(List<MeetingSlotDTO> slots) {
+        List<TimetableClashDTO> clashes = new ArrayList<>();
+        sweep(slots, ClashType.COURSE, null, clashes);
+        return clashes;
+    }
+
+    // Clashes between offerings that share a room or lecturer, e.g. across a trimester timetable
+    public static List<TimetableClashDTO> findResourceClashes(List<MeetingSlotDTO> slots, ClashType type,
+                                                              Function<MeetingSlotDTO, String> resource) {
+        Map<String, List<MeetingSlotDTO>> byResource = new HashMap<>();
+        for (MeetingSlotDTO slot : slots) {
+            String key = resource.apply(slot);
+            if (key != null && !key.isBlank()) {
+                byResource.computeIfAbsent(key.trim().toUpperCase(), k -> new ArrayList<>()).add(slot);
+            }
+        }
+        List<TimetableClashDTO> clashes = new ArrayList<>();
+        byResource.forEach((key, group) -> sweep(group, type, resource.apply(group.get(0)), clashes));
+        return clashes;
+    }
+
+    private static void sweep(List<MeetingSlotDTO> slots, ClashType type, String resource, List<TimetableClashDTO> clashes) {
+        int n = slots.size();
+        if (n < 2) {
+            return;
+        }
+        int[] start = new int[n];
+        int[] end = new int[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            MeetingSlotDTO slot = slots.get(i);
+            int dayOffset = slot.getDayOfWeek().ordinal() * MINUTES_PER_DAY;
+            start[i] = dayOffset + slot.getStartTime().toSecondOfDay() / 60;
+            end[i] = dayOffset + slot.getEndTime().toSecondOfDay() / 60;
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> start[i]));
+
+        int[] active = new int[n];
+        int activeCount = 0;
+        for (int index : order) {
+            int kept = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int other = active[a];
+                if (end[other] > start[index]) {
+                    active[kept++] = other;
+                    MeetingSlotDTO first = slots.get(other);
+                    MeetingSlotDTO second = slots.get(index);
+                    if (!first.getProgramCourseId().equals(second.getProgramCourseId())) {
+                        clashes.add(new TimetableClashDTO(type, resource, first, second));
+                    }
+                }
+            }
+            activeCount = kept;
+            active[activeCount++] = index;
+        }
+    }
+
+    public static String describe(TimetableClashDTO clash) {
+        return describe(clash.getFirst()) + " overlaps " + describe(clash.getSecond())
+                + (clash.getResource() != null ? " in " + clash.getResource() : "");
+    }
+
+    private static String describe(MeetingSlotDTO slot) {
+        return slot.getCourseCode() + " (" + slot.getDayOfWeek() + " " + slot.getStartTime() + "-" + slot.getEndTime() + ")";
+    }
+}
@@ -0,0 +1,87 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.MeetingSlotDTO;
+import com.university.portal.student_portal.dto.TimetableClashDTO;
+import com.university.portal.student_portal.entity.MeetingSlot;
+import com.university.portal.student_portal.entity.ProgramCourse;
+import com.university.portal.student_portal.repository.MeetingSlotRepository;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class TimetableService {
+
+    private final MeetingSlotRepository meetingSlotRepository;
+    private final StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+
+    public List<MeetingSlotDTO> getSlotsByProgramCourse(Long programCourseId) {
+        return meetingSlotRepository.findSlotsByProgramCourseIds(List.of(programCourseId));
+    }
+
+    public MeetingSlot addSlot(ProgramCourse programCourse, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime,
+                               String room, String lecturer) {
+        if (!startTime.isBefore(endTime)) {
+            throw new IllegalStateException("Meeting slot must end after it starts");
+        }
+
+        MeetingSlot slot = MeetingSlot.builder()
+                .programCourse(programCourse)
+                .dayOfWeek(dayOfWeek)
+                .startTime(startTime)
+                .endTime(endTime)
+                .room(room)
+                .lecturer(lecturer)
+                .build();
+
+        return meetingSlotRepository.save(slot);
+    }
+
+    public void deleteSlot(Long id) {
+        meetingSlotRepository.deleteById(id);
+    }
+
+    public void deleteSlotsByProgramCourse(Long programCourseId) {
+        meetingSlotRepository.deleteByProgramCourseId(programCourseId);
+    }
+
+    /**
+     * Throws IllegalStateException if an offering in the cart meets at the same time as another
+     * one in it, or as one the student is already enrolled in that trimester. Clashes among the
+     * existing enrollments alone are left alone.
+     */
+    public void assertNoClashes(Long studentId, Long trimesterId, Collection<Long> cartProgramCourseIds) {
+        Set<Long> cart = new HashSet<>(cartProgramCourseIds);
+        Set<Long> ids = new HashSet<>(studentCourseEnrollmentRepository.findActiveProgramCourseIds(studentId, trimesterId));
+        ids.addAll(cart);
+        if (ids.size() < 2) {
+            return;
+        }
+        TimetableClashDetector.findCourseClashes(meetingSlotRepository.findSlotsByProgramCourseIds(ids))
+                .stream()
+                .filter(clash -> cart.contains(clash.getFirst().getProgramCourseId())
+                        || cart.contains(clash.getSecond().getProgramCourseId()))
+                .findFirst()
+                .ifPresent(clash -> {
+                    throw new IllegalStateException("Timetable clash: " + TimetableClashDetector.describe(clash));
+                });
+    }
+
+    // Every room and lecturer double-booking in a trimester's timetable
+    public List<TimetableClashDTO> findTrimesterClashes(Long trimesterId) {
+        List<MeetingSlotDTO> slots = meetingSlotRepository.findSlotsByTrimesterId(trimesterId);
+        List<TimetableClashDTO> clashes = new ArrayList<>();
+        clashes.addAll(TimetableClashDetector.findResourceClashes(slots, TimetableClashDTO.ClashType.ROOM, MeetingSlotDTO::getRoom));
+        clashes.addAll(TimetableClashDetector.findResourceClashes(slots, TimetableClashDTO.ClashType.LECTURER, MeetingSlotDTO::getLecturer));
+        return clashes;
+    }
+}
@@ -0,0 +1,179 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.TranscriptDTO;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import static com.university.portal.student_portal.service.PdfTemplate.BOLD;
+import static com.university.portal.student_portal.service.PdfTemplate.REGULAR;
+import static com.university.portal.student_portal.service.PdfTemplate.encodable;
+import static com.university.portal.student_portal.service.PdfTemplate.text;
+
+/**
+ * Lays a transcript out as a table across as many A4 pages as it needs, repeating the page
+ * header and column headings on every page. The title, labels and headings come from templates
+ * built once at startup, so each page only stamps the student's details and rows. Page buffers
+ * spill to a scratch file past a small in-memory budget, and the finished document is written
+ * straight to the caller's stream.
+ */
+@Component
+public class TranscriptPdfRenderer {
+
+    // Part of the PDF cache key; bump when the layout changes
+    public static final String LAYOUT_VERSION = "transcript-v2";
+
+    private static final float MARGIN = 50;
+    private static final float PAGE_TOP = PDRectangle.A4.getHeight() - MARGIN;
+    private static final float TABLE_BOTTOM = 60;
+    private static final float ROW_HEIGHT = 16;
+    private static final float FONT_SIZE = 10;
+    private static final float FIRST_TABLE_TOP = PAGE_TOP - 100;
+    private static final float OTHER_TABLE_TOP = PAGE_TOP - 40;
+    private static final String PROGRAM_LABEL = "Program: ";
+    private static final String GPA_LABEL = "Cumulative GPA: ";
+
+    // Column left edges and widths: Term, Code, Title, Credits, Grade
+    private static final String[] HEADINGS = {"Term", "Code", "Title", "Credits", "Grade"};
+    private static final float[] COLUMN_X = {50, 160, 230, 465, 515};
+    private static final float[] COLUMN_WIDTH = {105, 65, 230, 45, 30};
+
+    private final PdfTemplate firstPage = new PdfTemplate(content -> {
+        writeTitle(content);
+        text(content, REGULAR, 12, MARGIN, PAGE_TOP - 45, PROGRAM_LABEL);
+        text(content, REGULAR, 12, MARGIN, PAGE_TOP - 62, GPA_LABEL);
+        writeColumnHeadings(content, FIRST_TABLE_TOP);
+    });
+    private final PdfTemplate otherPages = new PdfTemplate(content -> {
+        writeTitle(content);
+        writeColumnHeadings(content, OTHER_TABLE_TOP);
+    });
+    private final float programValueX = MARGIN + PdfTemplate.width(REGULAR, 12, PROGRAM_LABEL);
+    private final float gpaValueX = MARGIN + PdfTemplate.width(REGULAR, 12, GPA_LABEL);
+
+    public TranscriptPdfRenderer() throws IOException {
+    }
+
+    public void render(TranscriptDTO transcript, OutputStream out) throws IOException {
+        List<TranscriptDTO.CourseGrade> courses = transcript.getCourses();
+        int rowsOnFirstPage = rowsBetween(FIRST_TABLE_TOP);
+        int rowsPerPage = rowsBetween(OTHER_TABLE_TOP);
+        int remaining = Math.max(0, courses.size() - rowsOnFirstPage);
+        int totalPages = 1 + (remaining + rowsPerPage - 1) / rowsPerPage;
+
+        try (PDDocument doc = PdfTemplate.newDocument()) {
+            PDFormXObject firstForm = firstPage.newForm(doc);
+            // Continuation pages share one form object, so the document carries its layout once
+            PDFormXObject otherForm = totalPages > 1 ? otherPages.newForm(doc) : null;
+            int next = 0;
+            for (int pageNumber = 1; pageNumber <= totalPages; pageNumber++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    float y = OTHER_TABLE_TOP - ROW_HEIGHT;
+                    int rows = rowsPerPage;
+                    if (pageNumber == 1) {
+                        content.drawForm(firstForm);
+                        writeSummary(content, transcript);
+                        y = FIRST_TABLE_TOP - ROW_HEIGHT;
+                        rows = rowsOnFirstPage;
+                    } else {
+                        content.drawForm(otherForm);
+                    }
+                    writeStudentLine(content, transcript);
+
+                    if (courses.isEmpty()) {
+                        text(content, REGULAR, FONT_SIZE, MARGIN, y, "No graded courses yet.");
+                    }
+                    for (int i = 0; i < rows && next < courses.size(); i++, next++) {
+                        writeRow(content, courses.get(next), y);
+                        y -= ROW_HEIGHT;
+                    }
+
+                    String footer = "Page " + pageNumber + " of " + totalPages;
+                    float footerWidth = PdfTemplate.width(REGULAR, 9, footer);
+                    text(content, REGULAR, 9, (PDRectangle.A4.getWidth() - footerWidth) / 2, 30, footer);
+                }
+            }
+            // PDDocument.save closes the stream it writes to; leave that to the caller
+            doc.save(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.flush();
+                }
+            });
+        }
+    }
+
+    private int rowsBetween(float tableTop) {
+        // One row is taken by the column headings
+        return (int) ((tableTop - TABLE_BOTTOM) / ROW_HEIGHT) - 1;
+    }
+
+    private static void writeTitle(PDPageContentStream content) throws IOException {
+        text(content, BOLD, 16, MARGIN, PAGE_TOP, "Official Transcript");
+    }
+
+    private static void writeColumnHeadings(PDPageContentStream content, float y) throws IOException {
+        for (int i = 0; i < HEADINGS.length; i++) {
+            text(content, BOLD, FONT_SIZE, COLUMN_X[i], y, HEADINGS[i]);
+        }
+        content.moveTo(MARGIN, y - 4);
+        content.lineTo(PDRectangle.A4.getWidth() - MARGIN, y - 4);
+        content.stroke();
+    }
+
+    private void writeStudentLine(PDPageContentStream content, TranscriptDTO transcript) throws IOException {
+        text(content, REGULAR, FONT_SIZE, MARGIN, PAGE_TOP - 18,
+                transcript.getStudentName() + "  |  Reg No: " + transcript.getRegistrationNumber());
+    }
+
+    private void writeSummary(PDPageContentStream content, TranscriptDTO transcript) throws IOException {
+        text(content, REGULAR, 12, programValueX, PAGE_TOP - 45, transcript.getProgramTitle());
+        text(content, REGULAR, 12, gpaValueX, PAGE_TOP - 62,
+                transcript.getGpa() != null ? String.format("%.2f", transcript.getGpa()) : "N/A");
+    }
+
+    private void writeRow(PDPageContentStream content, TranscriptDTO.CourseGrade course, float y) throws IOException {
+        String[] cells = {
+                course.getTrimester(),
+                course.getCourseCode(),
+                course.getCourseTitle(),
+                course.getCreditHours() != null ? String.valueOf(course.getCreditHours()) : "",
+                course.getGrade()
+        };
+        for (int i = 0; i < cells.length; i++) {
+            text(content, REGULAR, FONT_SIZE, COLUMN_X[i], y, fit(cells[i], COLUMN_WIDTH[i]));
+        }
+    }
+
+    // Shortens text with an ellipsis so it stays inside its column
+    private static String fit(String text, float width) throws IOException {
+        String value = encodable(REGULAR, text);
+        if (width(value) <= width) {
+            return value;
+        }
+        int end = value.length();
+        while (end > 0 && width(value.substring(0, end) + "...") > width) {
+            end--;
+        }
+        return value.substring(0, end) + "...";
+    }
+
+    private static float width(String text) throws IOException {
+        return PdfTemplate.width(REGULAR, FONT_SIZE, text);
+    }
+}
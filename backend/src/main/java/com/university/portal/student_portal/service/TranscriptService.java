@@ -1,124 +1,139 @@
 package com.university.portal.student_portal.service;
 
 import com.university.portal.student_portal.dto.TranscriptDTO;
-import com.university.portal.student_portal.entity.Enrollment;
-import com.university.portal.student_portal.entity.Grade;
-import com.university.portal.student_portal.entity.Student;
-import com.university.portal.student_portal.repository.EnrollmentRepository;
-import com.university.portal.student_portal.repository.GradeRepository;
+import com.university.portal.student_portal.dto.TranscriptRow;
 import com.university.portal.student_portal.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.List;
-import java.util.Optional;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TranscriptService {
+    public static final String INVALIDATION_REGION = "student-ids";
+    private static final int TRANSCRIPT_CACHE_SIZE = 20_000;
+    // Backstop for a dropped invalidation; the lookup is one indexed query
+    private static final Duration STUDENT_ID_TTL = Duration.ofMinutes(10);
+
     private final StudentRepository studentRepository;
-    private final EnrollmentRepository enrollmentRepository;
-    private final GradeRepository gradeRepository;
+    private final GpaService gpaService;
+    private final AcademicVersionService academicVersionService;
+    private final TranscriptPdfRenderer transcriptPdfRenderer;
+    private final PdfFileCache pdfFileCache;
+    private final PdfRenderQueue pdfRenderQueue;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    // Transcripts by student id, each tagged with the academic version it was built at
+    private final Cache<Long, CachedTranscript> transcripts = Caffeine.newBuilder()
+            .maximumSize(TRANSCRIPT_CACHE_SIZE)
+            .build();
+    private final Cache<String, Long> studentIdsByRegistrationNumber = Caffeine.newBuilder()
+            .maximumSize(TRANSCRIPT_CACHE_SIZE)
+            .expireAfterWrite(STUDENT_ID_TTL)
+            .build();
+
+    public record CachedTranscript(String version, String etag, TranscriptDTO transcript) {
+    }
+
+    @PostConstruct
+    void subscribe() {
+        cacheInvalidationBus.subscribe(INVALIDATION_REGION, key -> {
+            if (CacheInvalidationBus.ALL.equals(key)) {
+                studentIdsByRegistrationNumber.invalidateAll();
+            } else {
+                studentIdsByRegistrationNumber.invalidate(key);
+            }
+        });
+    }
+
+    // Call once a student's deletion or change of registration number has committed
+    public void evictRegistrationNumber(String registrationNumber) {
+        studentIdsByRegistrationNumber.invalidate(registrationNumber);
+        cacheInvalidationBus.publish(INVALIDATION_REGION, registrationNumber);
+    }
 
+    @Transactional(readOnly = true)
     public TranscriptDTO getTranscript(Long studentId) {
-        Student student = studentRepository.findById(studentId).orElseThrow();
-        List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
-        // For simplicity, assume one program per student
-        String programTitle = enrollments.isEmpty() ? "" : enrollments.get(0).getProgram().getProgramTitle();
-        List<TranscriptDTO.CourseGrade> courses = enrollments.stream().flatMap(enrollment ->
-            gradeRepository.findByEnrollmentId(enrollment.getId()).stream().map(grade ->
-                new TranscriptDTO.CourseGrade(grade.getCourseCode(), grade.getCourseTitle(), grade.getGrade())
-            )
-        ).collect(Collectors.toList());
-        Double gpa = calculateGpa(courses);
-        return new TranscriptDTO(student.getFullName(), student.getRegistrationNumber(), programTitle, courses, gpa);
+        List<TranscriptRow> rows = studentRepository.findTranscriptRowsById(studentId);
+        if (rows.isEmpty()) {
+            throw new NoSuchElementException("Student not found: " + studentId);
+        }
+        return toTranscript(rows);
     }
 
+    @Transactional(readOnly = true)
     public TranscriptDTO getTranscriptByRegistrationNumber(String registrationNumber) {
-        Student student = studentRepository.findByRegistrationNumber(registrationNumber)
-            .orElseThrow(() -> new RuntimeException("Student not found: " + registrationNumber));
-        return getTranscript(student.getId());
+        List<TranscriptRow> rows = studentRepository.findTranscriptRowsByRegistrationNumber(registrationNumber);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Student not found: " + registrationNumber);
+        }
+        return toTranscript(rows);
     }
 
-    private Double calculateGpa(List<TranscriptDTO.CourseGrade> courses) {
-        // Dummy GPA calculation: A=4, B=3, C=2, D=1, F=0
-        if (courses.isEmpty()) return null;
-        double total = 0;
-        for (TranscriptDTO.CourseGrade cg : courses) {
-            switch (cg.getGrade().toUpperCase()) {
-                case "A": total += 4; break;
-                case "B": total += 3; break;
-                case "C": total += 2; break;
-                case "D": total += 1; break;
-                default: total += 0;
-            }
+    /**
+     * Serves the transcript from memory while the student's academic version is unchanged, so
+     * repeat reads (and their ETag revalidations) do not touch the database.
+     */
+    public CachedTranscript getCachedTranscriptByRegistrationNumber(String registrationNumber) {
+        Long studentId = studentIdsByRegistrationNumber.get(registrationNumber, regNo ->
+                studentRepository.findByRegistrationNumber(regNo)
+                        .orElseThrow(() -> new RuntimeException("Student not found: " + regNo))
+                        .getId());
+        // Read the version before loading so a concurrent change is never cached under its new version
+        String version = academicVersionService.currentVersion(studentId);
+        CachedTranscript cached = transcripts.getIfPresent(studentId);
+        if (cached != null && cached.version().equals(version)) {
+            return cached;
         }
-        return total / courses.size();
+        CachedTranscript loaded = new CachedTranscript(version, "\"" + studentId + "-" + version + "\"", getTranscript(studentId));
+        transcripts.put(studentId, loaded);
+        return loaded;
     }
 
-    public byte[] generateTranscriptPdf(Long studentId) throws IOException {
-        TranscriptDTO transcript = getTranscript(studentId);
-        try (PDDocument doc = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            doc.addPage(page);
-            try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
-                content.setFont(PDType1Font.HELVETICA_BOLD, 18);
-                content.beginText();
-                content.newLineAtOffset(50, 770);
-                content.showText("Official Transcript");
-                content.endText();
+    // Rows come from one join, ordered by trimester; students without grades yield a single row of nulls
+    private TranscriptDTO toTranscript(List<TranscriptRow> rows) {
+        TranscriptRow first = rows.get(0);
+        // For simplicity, assume one program per student
+        String programTitle = rows.stream()
+                .map(TranscriptRow::getProgramTitle)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse("");
+        List<TranscriptDTO.CourseGrade> courses = rows.stream()
+                .filter(row -> row.getCourseCode() != null)
+                .map(row -> new TranscriptDTO.CourseGrade(
+                        row.getCourseCode(), row.getCourseTitle(), row.getGrade(), row.getTrimesterName(), row.getCreditHours()))
+                .collect(Collectors.toList());
+        Double gpa = gpaService.getCumulativeGpa(first.getStudentId());
+        return new TranscriptDTO(first.getStudentName(), first.getRegistrationNumber(), programTitle, courses, gpa);
+    }
 
-                content.setFont(PDType1Font.HELVETICA, 12);
-                content.beginText();
-                content.newLineAtOffset(50, 740);
-                content.showText("Name: " + transcript.getStudentName());
-                content.endText();
-                content.beginText();
-                content.newLineAtOffset(50, 725);
-                content.showText("Reg No: " + transcript.getRegistrationNumber());
-                content.endText();
-                content.beginText();
-                content.newLineAtOffset(50, 710);
-                content.showText("Program: " + transcript.getProgramTitle());
-                content.endText();
-                content.beginText();
-                content.newLineAtOffset(50, 695);
-                content.showText("GPA: " + (transcript.getGpa() != null ? String.format("%.2f", transcript.getGpa()) : "N/A"));
-                content.endText();
+    public void writeTranscriptPdf(Long studentId, OutputStream out) throws IOException {
+        transcriptPdfRenderer.render(getTranscript(studentId), out);
+    }
 
-                int y = 670;
-                content.setFont(PDType1Font.HELVETICA_BOLD, 12);
-                content.beginText();
-                content.newLineAtOffset(50, y);
-                content.showText("Courses:");
-                content.endText();
-                y -= 20;
-                content.setFont(PDType1Font.HELVETICA, 12);
-                for (TranscriptDTO.CourseGrade cg : transcript.getCourses()) {
-                    content.beginText();
-                    content.newLineAtOffset(50, y);
-                    content.showText(cg.getCourseCode() + " - " + cg.getCourseTitle() + ": " + cg.getGrade());
-                    content.endText();
-                    y -= 15;
-                    if (y < 50) break; // Avoid overflow for now
-                }
-            }
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            doc.save(out);
-            return out.toByteArray();
-        }
+    // Served from disk when cached, otherwise rendered on the PDF render queue
+    public CompletableFuture<PdfFileCache.CachedPdf> renderTranscriptPdfByRegistrationNumber(String registrationNumber) throws IOException {
+        TranscriptDTO transcript = getCachedTranscriptByRegistrationNumber(registrationNumber).transcript();
+        return pdfRenderQueue.submit(TranscriptPdfRenderer.LAYOUT_VERSION, transcript,
+                out -> transcriptPdfRenderer.render(transcript, out));
     }
 
-    public byte[] generateTranscriptPdfByRegistrationNumber(String registrationNumber) throws IOException {
-        Student student = studentRepository.findByRegistrationNumber(registrationNumber).orElseThrow();
-        return generateTranscriptPdf(student.getId());
+    // Rendered once per distinct transcript content and then served from disk
+    public PdfFileCache.CachedPdf getTranscriptPdf(TranscriptDTO transcript) throws IOException {
+        return pdfFileCache.getOrRender(TranscriptPdfRenderer.LAYOUT_VERSION, transcript,
+                out -> transcriptPdfRenderer.render(transcript, out));
     }
-} 
\ No newline at end of file
+}
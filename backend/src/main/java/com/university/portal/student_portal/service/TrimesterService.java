@@ -1,9 +1,14 @@
 package com.university.portal.student_portal.service;
 
+import com.university.portal.student_portal.config.CacheConfig;
+import com.university.portal.student_portal.dto.TrimesterDTO;
 import com.university.portal.student_portal.entity.Trimester;
 import com.university.portal.student_portal.repository.TrimesterRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,6 +20,7 @@ public class TrimesterService {
 
     private final TrimesterRepository trimesterRepository;
 
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_TRIMESTERS, allEntries = true)
     public Trimester createTrimester(Trimester trimester) {
         // Validate that the period and academic year combination is unique
         if (trimesterRepository.findByPeriodAndAcademicYear(trimester.getPeriod(), trimester.getAcademicYear()).isPresent()) {
@@ -37,8 +43,13 @@ public class TrimesterService {
         return trimesterRepository.findAll();
     }
 
-    public List<Trimester> getActiveTrimesters() {
-        return trimesterRepository.findByIsActiveTrue();
+    // Includes each trimester's offerings, so program course changes evict this too
+    @Cacheable(CacheConfig.ACTIVE_TRIMESTERS)
+    @Transactional(readOnly = true)
+    public List<TrimesterDTO> getActiveTrimesters() {
+        return trimesterRepository.findByIsActiveTrue().stream()
+                .map(TrimesterDTO::fromEntity)
+                .toList();
     }
 
     public List<Trimester> getTrimestersByType(Trimester.AcademicPeriodType periodType) {
@@ -57,6 +68,7 @@ public class TrimesterService {
         return trimesterRepository.findByPeriodAndAcademicYear(period, academicYear);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_TRIMESTERS, allEntries = true)
     public Trimester updateTrimester(Long id, Trimester updatedTrimester) {
         Trimester trimester = trimesterRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Trimester not found"));
@@ -71,6 +83,7 @@ public class TrimesterService {
         return trimesterRepository.save(trimester);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_TRIMESTERS, allEntries = true)
     public void deleteTrimester(Long id) {
         trimesterRepository.deleteById(id);
     }
@@ -0,0 +1,185 @@
+package com.university.portal.student_portal;
+
+import com.university.portal.student_portal.auth.JwtService;
+import com.university.portal.student_portal.entity.Student;
+import com.university.portal.student_portal.repository.StudentRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and latency of {@code GET /api/students/me} with platform request threads and then
+ * with {@code spring.threads.virtual.enabled}, each at {@code -Dusers} concurrent students
+ * (default 2000) looping for {@code -Dseconds} (default 30) after a warm-up. Boots the portal
+ * in-process against the Postgres from application.properties and seeds LOAD/ students, removed
+ * afterwards. Run from backend/ with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-Djdk.tracePinnedThreads=short -cp %classpath com.university.portal.student_portal.VirtualThreadBenchmark"
+ * </pre>
+ * Pinned virtual threads, if any, are printed by the JVM while the virtual run is under load.
+ */
+public class VirtualThreadBenchmark {
+
+    private static final String PREFIX = "LOAD/";
+
+    private record Run(String mode, long requests, long errors, double seconds, long[] latencies) {
+
+        void print() {
+            Arrays.sort(latencies);
+            System.out.printf("%-9s %8d requests %6d errors %9.0f req/s   p50 %6.1f ms   p99 %7.1f ms   max %7.1f ms%n",
+                    mode, requests, errors, requests / seconds,
+                    percentile(0.50), percentile(0.99), latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+        }
+
+        private double percentile(double p) {
+            return latencies.length == 0 ? 0 : latencies[(int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1)] / 1e6;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("users", 2000);
+        Duration measure = Duration.ofSeconds(Integer.getInteger("seconds", 30));
+        Duration warmUp = Duration.ofSeconds(Integer.getInteger("warmup", 10));
+
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(properties.getProperty("spring.datasource.url"),
+                properties.getProperty("spring.datasource.username"), properties.getProperty("spring.datasource.password"))) {
+            // Reachable
+        } catch (SQLException e) {
+            System.out.println("Postgres not available: " + e.getMessage());
+            return;
+        }
+
+        List<Run> runs = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentPortalApplication.class)
+                    .run("--server.port=0", "--spring.jpa.show-sql=false",
+                            "--spring.threads.virtual.enabled=" + virtual)) {
+                List<String> tokens = seed(context, users);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String mode = virtual ? "virtual" : "platform";
+                load(mode, port, tokens, warmUp);
+                runs.add(load(mode, port, tokens, measure));
+                if (virtual) {
+                    StudentRepository students = context.getBean(StudentRepository.class);
+                    students.deleteAll(students.findAll().stream()
+                            .filter(s -> s.getRegistrationNumber().startsWith(PREFIX))
+                            .toList());
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println(users + " concurrent students, " + measure.toSeconds() + "s per mode, "
+                + Runtime.getRuntime().availableProcessors() + " CPUs");
+        runs.forEach(Run::print);
+    }
+
+    private static List<String> seed(ConfigurableApplicationContext context, int users) {
+        StudentRepository students = context.getBean(StudentRepository.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+        List<Student> missing = new ArrayList<>();
+        List<String> tokens = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String registrationNumber = PREFIX + String.format("%05d", i);
+            if (students.findByRegistrationNumber(registrationNumber).isEmpty()) {
+                missing.add(Student.builder()
+                        .registrationNumber(registrationNumber)
+                        .idOrPassportNumber("L" + i)
+                        .fullName("Load Student " + i)
+                        .gender("F")
+                        .dateOfBirth(LocalDate.of(2003, 1, 1))
+                        .phoneNumber("0700000000")
+                        .universityEmail("load" + i + "@students.example.edu")
+                        .password("unused")
+                        .build());
+            }
+            tokens.add(jwtService.generateToken(registrationNumber, "STUDENT"));
+        }
+        students.saveAll(missing);
+        return tokens;
+    }
+
+    private static Run load(String mode, int port, List<String> tokens, Duration duration) throws InterruptedException {
+        URI uri = URI.create("http://localhost:" + port + "/api/students/me");
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[tokens.size()][];
+        int[] counts = new int[tokens.size()];
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (int i = 0; i < tokens.size(); i++) {
+                int client = i;
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Authorization", "Bearer " + tokens.get(i))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                clients.submit(() -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - sent;
+                    }
+                    latencies[client] = samples;
+                    counts[client] = n;
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[(int) total];
+        int offset = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            if (latencies[i] != null) {
+                System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+                offset += counts[i];
+            }
+        }
+        return new Run(mode, total, errors.get(), seconds, all);
+    }
+}
@@ -0,0 +1,84 @@
+package com.university.portal.student_portal.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the limit window by window through {@link AdaptiveConcurrencyLimit#update}, as if each
+ * window had the given mean latency, pool wait and peak requests in flight.
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static AdaptiveConcurrencyLimit limit() {
+        return new AdaptiveConcurrencyLimit(100, 10, 200, 1.5, 50 * MS, 250 * MS, () -> 0);
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAndRecovers() {
+        AdaptiveConcurrencyLimit limit = limit();
+        for (int i = 0; i < 5; i++) {
+            limit.update(20 * MS, 0, 100);
+        }
+        int healthy = limit.getLimit();
+        assertTrue(healthy > 100, "grows while used and fast: " + healthy);
+
+        for (int i = 0; i < 10; i++) {
+            limit.update(200 * MS, 0, healthy);
+        }
+        int overloaded = limit.getLimit();
+        assertTrue(overloaded < healthy / 2, "shrinks while slow: " + overloaded);
+
+        for (int i = 0; i < 10; i++) {
+            limit.update(20 * MS, 0, overloaded);
+        }
+        assertTrue(limit.getLimit() > overloaded, "grows again once fast: " + limit.getLimit());
+    }
+
+    @Test
+    void shrinksOnPoolWaitEvenWhenLatencyLooksNormal() {
+        AdaptiveConcurrencyLimit limit = limit();
+        for (int i = 0; i < 10; i++) {
+            limit.update(20 * MS, 200 * MS, 100);
+        }
+        assertTrue(limit.getLimit() < 50, "shrinks while connections are scarce: " + limit.getLimit());
+    }
+
+    @Test
+    void staysWithinBoundsAndDoesNotGrowUnused() {
+        AdaptiveConcurrencyLimit limit = limit();
+        limit.update(20 * MS, 0, 5);
+        assertEquals(100, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.update(20 * MS, 0, 200);
+        }
+        assertEquals(200, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.update(10_000 * MS, 0, 200);
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void lowerSharesAreRefusedFirst() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 10, 10, 1.5, 50 * MS, 250 * MS, () -> 0);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(limit.tryAcquire(0.7));
+        }
+        assertFalse(limit.tryAcquire(0.7));
+        assertTrue(limit.tryAcquire(1.0));
+        assertTrue(limit.tryAcquire(1.0));
+        assertTrue(limit.tryAcquire(1.0));
+        assertFalse(limit.tryAcquire(1.0));
+
+        limit.release(5 * MS);
+        assertEquals(9, limit.getInFlight());
+        assertTrue(limit.tryAcquire(1.0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.university.portal.student_portal.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * One running request and one queued place, so the third request finds the queue full and the
+ * queued one runs out of wait while the first is still running.
+ */
+class BulkheadInterceptorTest {
+
+    @Bulkhead("slow")
+    static class SlowController {
+
+        public void export() {
+        }
+
+        @Bulkhead("other")
+        public void download() {
+        }
+    }
+
+    static class PlainController {
+
+        public void list() {
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkheadInterceptor interceptor = new BulkheadInterceptor(new MockEnvironment()
+            .withProperty("portal.bulkheads.slow.max-concurrent", "1")
+            .withProperty("portal.bulkheads.slow.max-queue", "1")
+            .withProperty("portal.bulkheads.slow.max-wait", "500ms")
+            .withProperty("portal.bulkheads.slow.retry-after", "7s"), meterRegistry);
+
+    private static HandlerMethod handler(Object controller, String method) throws NoSuchMethodException {
+        return new HandlerMethod(controller, method);
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.get("bulkhead.calls").tag("bulkhead", "slow").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenSaturated() throws Exception {
+        HandlerMethod export = handler(new SlowController(), "export");
+        MockHttpServletRequest running = new MockHttpServletRequest();
+        assertTrue(interceptor.preHandle(running, new MockHttpServletResponse(), export));
+
+        MockHttpServletResponse queuedResponse = new MockHttpServletResponse();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.preHandle(new MockHttpServletRequest(), queuedResponse, export);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (meterRegistry.get("bulkhead.queued").tag("bulkhead", "slow").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        MockHttpServletResponse overflow = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), overflow, export));
+        assertEquals(429, overflow.getStatus());
+        assertEquals("7", overflow.getHeader("Retry-After"));
+
+        assertFalse(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(503, queuedResponse.getStatus());
+        assertEquals("7", queuedResponse.getHeader("Retry-After"));
+
+        interceptor.afterCompletion(running, new MockHttpServletResponse(), export, null);
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), export));
+        assertEquals(2, calls("admitted"));
+        assertEquals(1, calls("queue-full"));
+        assertEquals(1, calls("timed-out"));
+    }
+
+    @Test
+    void methodAnnotationOverridesClassAndUnannotatedHandlersPass() throws Exception {
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new SlowController(), "export")));
+        // Separate bulkhead with the defaults, so the held "slow" place does not matter
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new SlowController(), "download")));
+        assertEquals(1, meterRegistry.get("bulkhead.active").tag("bulkhead", "other").gauge().value());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new PlainController(), "list")));
+        }
+    }
+}
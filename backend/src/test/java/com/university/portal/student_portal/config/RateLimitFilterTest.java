@@ -0,0 +1,127 @@
+package com.university.portal.student_portal.config;
+
+import com.university.portal.student_portal.auth.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Three requests per second on can-request, so a fourth in the same instant is refused while
+ * other callers and unlimited routes are unaffected. Overlapping routes use their own filter.
+ */
+class RateLimitFilterTest {
+
+    private final JwtService jwtService = new JwtService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter;
+
+    RateLimitFilterTest() {
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "test-secret-that-is-long-enough-for-hs256-signing");
+        filter = new RateLimitFilter(jwtService, meterRegistry, new MockEnvironment()
+                .withProperty("portal.rate-limits.can-request.paths", "/api/enrollment-requests/can-request/**")
+                .withProperty("portal.rate-limits.can-request.limit", "3")
+                .withProperty("portal.rate-limits.can-request.period", "1s"));
+    }
+
+    private MockHttpServletResponse call(String uri, String subject, String ip) throws Exception {
+        return call(filter, uri, subject, ip);
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String uri, String subject, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(ip);
+        if (subject != null) {
+            request.addHeader("Authorization", "Bearer " + jwtService.generateToken(subject, "STUDENT"));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (response.getStatus() == 200) {
+            assertNotNull(chain.getRequest(), "allowed requests continue down the chain");
+        }
+        return response;
+    }
+
+    private double requests(String outcome) {
+        return requests(meterRegistry, "can-request", outcome);
+    }
+
+    private static double requests(SimpleMeterRegistry meterRegistry, String route, String outcome) {
+        return meterRegistry.get("ratelimit.requests").tag("route", route).tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void limitsEachCallerSeparately() throws Exception {
+        String uri = "/api/enrollment-requests/can-request/1/2";
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            MockHttpServletResponse response = call(uri, "21/00001", "10.0.0.1");
+            assertEquals(200, response.getStatus());
+            assertEquals("3", response.getHeader("RateLimit-Limit"));
+            assertEquals(String.valueOf(remaining), response.getHeader("RateLimit-Remaining"));
+        }
+
+        MockHttpServletResponse refused = call(uri, "21/00001", "10.0.0.1");
+        assertEquals(429, refused.getStatus());
+        assertEquals("0", refused.getHeader("RateLimit-Remaining"));
+        assertEquals("1", refused.getHeader("Retry-After"));
+
+        // Another student behind the same address, and an anonymous caller, have their own buckets
+        assertEquals(200, call(uri, "21/00002", "10.0.0.1").getStatus());
+        assertEquals(200, call(uri, null, "10.0.0.1").getStatus());
+        assertEquals(5, requests("allowed"));
+        assertEquals(1, requests("limited"));
+    }
+
+    @Test
+    void refillsOverThePeriodAndIgnoresOtherRoutes() throws Exception {
+        String uri = "/api/enrollment-requests/can-request/1/2";
+        for (int i = 0; i < 3; i++) {
+            call(uri, "21/00003", "10.0.0.3");
+        }
+        assertEquals(429, call(uri, "21/00003", "10.0.0.3").getStatus());
+        Thread.sleep(400);
+        assertEquals(200, call(uri, "21/00003", "10.0.0.3").getStatus());
+
+        MockHttpServletResponse other = call("/api/enrollment-requests", "21/00003", "10.0.0.3");
+        assertEquals(200, other.getStatus());
+        assertNull(other.getHeader("RateLimit-Limit"));
+    }
+
+    @Test
+    void refusalRefundsTokensTakenByOverlappingRoutes() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // The broad route is checked first, so it has already taken a token when can-request refuses
+        RateLimitFilter overlapping = new RateLimitFilter(jwtService, registry, new MockEnvironment()
+                .withProperty("portal.rate-limits.enrollment-requests.paths", "/api/enrollment-requests/**")
+                .withProperty("portal.rate-limits.enrollment-requests.limit", "5")
+                .withProperty("portal.rate-limits.enrollment-requests.period", "10s")
+                .withProperty("portal.rate-limits.can-request.paths", "/api/enrollment-requests/can-request/**")
+                .withProperty("portal.rate-limits.can-request.limit", "3")
+                .withProperty("portal.rate-limits.can-request.period", "10s"));
+        String narrow = "/api/enrollment-requests/can-request/1/2";
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, call(overlapping, narrow, "21/00004", "10.0.0.4").getStatus());
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(429, call(overlapping, narrow, "21/00004", "10.0.0.4").getStatus());
+        }
+
+        // Refused requests cost the broad route nothing: two of its five are still left
+        MockHttpServletResponse broad = call(overlapping, "/api/enrollment-requests", "21/00004", "10.0.0.4");
+        assertEquals(200, broad.getStatus());
+        assertEquals("1", broad.getHeader("RateLimit-Remaining"));
+        assertEquals(200, call(overlapping, "/api/enrollment-requests", "21/00004", "10.0.0.4").getStatus());
+        assertEquals(429, call(overlapping, "/api/enrollment-requests", "21/00004", "10.0.0.4").getStatus());
+        assertEquals(5, requests(registry, "enrollment-requests", "allowed"));
+        assertEquals(3, requests(registry, "can-request", "allowed"));
+        assertEquals(5, requests(registry, "can-request", "limited"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.university.portal.student_portal.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing against the Postgres from application.properties, which also stands in for the replica
+ * under a different application_name so each connection shows where it went. Point
+ * {@code -Dportal.test.replica-url} at a real streaming replica to exercise the lag check too.
+ * Skipped when the database is not reachable.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static String url;
+    private static String username;
+    private static String password;
+
+    private ReplicaRoutingDataSource routing;
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void checkDatabase() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        url = properties.getProperty("spring.datasource.url");
+        username = properties.getProperty("spring.datasource.username");
+        password = properties.getProperty("spring.datasource.password");
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(url, username, password)) {
+            // Reachable
+        } catch (SQLException e) {
+            Assumptions.abort("Postgres not available: " + e.getMessage());
+        }
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        SecurityContextHolder.clearContext();
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    private void route(String replicaUrl) {
+        DriverManagerDataSource primary = new DriverManagerDataSource(url + "?ApplicationName=primary", username, password);
+        DriverManagerDataSource replica = new DriverManagerDataSource(replicaUrl, username, password);
+        routing = new ReplicaRoutingDataSource(primary, List.of(new ReplicaRoutingDataSource.Replica("replica-1", replica)),
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+        routing.checkLag();
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Which pool served a transaction, by the application_name its connection was opened with
+    private String connectedAs(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+
+    private static String replicaUrl() {
+        return System.getProperty("portal.test.replica-url", url + "?ApplicationName=replica");
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        route(replicaUrl());
+
+        assertEquals("primary", connectedAs(false));
+        assertNotEquals("primary", connectedAs(true));
+    }
+
+    @Test
+    void readsStayOnThePrimaryRightAfterAWrite() {
+        route(replicaUrl());
+
+        routing.markWrite();
+
+        assertEquals("primary", connectedAs(true));
+    }
+
+    @Test
+    void anotherUsersWriteDoesNotHoldReadsOnThePrimary() {
+        route(replicaUrl());
+
+        signIn("writer");
+        routing.markWrite();
+
+        signIn("reader");
+        assertNotEquals("primary", connectedAs(true));
+        signIn("writer");
+        assertEquals("primary", connectedAs(true));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        route("jdbc:postgresql://127.0.0.1:1/none");
+
+        assertTrue(Double.isInfinite(routing.getReplicas().get(0).getLag()));
+        assertEquals("primary", connectedAs(true));
+    }
+}
@@ -0,0 +1,132 @@
+package com.university.portal.student_portal.config;
+
+import com.university.portal.student_portal.dto.StudentCourseEnrollmentDTO;
+import com.university.portal.student_portal.entity.Course;
+import com.university.portal.student_portal.entity.Program;
+import com.university.portal.student_portal.entity.ProgramCourse;
+import com.university.portal.student_portal.entity.Student;
+import com.university.portal.student_portal.entity.StudentCourseEnrollment;
+import com.university.portal.student_portal.entity.Trimester;
+import com.university.portal.student_portal.repository.CourseRepository;
+import com.university.portal.student_portal.repository.ProgramCourseRepository;
+import com.university.portal.student_portal.repository.ProgramRepository;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import com.university.portal.student_portal.repository.StudentRepository;
+import com.university.portal.student_portal.repository.TrimesterRepository;
+import com.university.portal.student_portal.service.StudentCourseEnrollmentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reference data behind an enrollment (offering, program, course, trimester) comes from the
+ * second-level cache once warm, and offering lookups from the query cache. Counts are read from
+ * Hibernate statistics, switched on for the duration of each test.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private StudentCourseEnrollmentService studentCourseEnrollmentService;
+    @Autowired
+    private ProgramRepository programRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private TrimesterRepository trimesterRepository;
+    @Autowired
+    private ProgramCourseRepository programCourseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+
+    private Statistics statistics;
+    private Program program;
+    private Course course;
+    private Trimester trimester;
+    private ProgramCourse programCourse;
+    private Student student;
+    private StudentCourseEnrollment enrollment;
+
+    @BeforeEach
+    void createEnrollment() {
+        String code = "IT-" + System.nanoTime();
+        program = programRepository.save(Program.builder().programCode(code).programTitle("Entity Cache").build());
+        course = courseRepository.save(Course.builder().courseCode(code).courseTitle("Entity Cache").build());
+        trimester = trimesterRepository.save(Trimester.builder().name(code).academicYear("2024/2025").period("TRIM1_YEAR1")
+                .startDate(LocalDate.now().minusDays(10)).endDate(LocalDate.now().plusDays(60)).isActive(false)
+                .minimumCourses(1).maximumCourses(8).periodType(Trimester.AcademicPeriodType.TRIMESTER).build());
+        programCourse = programCourseRepository.save(ProgramCourse.builder().program(program).course(course).trimester(trimester)
+                .creditHours(3).isCore(true).isActive(true).build());
+        student = studentRepository.save(Student.builder().registrationNumber(code).idOrPassportNumber(code)
+                .fullName("Entity Cache").gender("F").dateOfBirth(LocalDate.of(2000, 1, 1)).phoneNumber("0700000000")
+                .universityEmail(code.toLowerCase() + "@university.ac.ke").password("x").build());
+        enrollment = studentCourseEnrollmentRepository.save(StudentCourseEnrollment.builder().student(student)
+                .programCourse(programCourse).enrolledAt(LocalDateTime.now())
+                .status(StudentCourseEnrollment.EnrollmentStatus.ENROLLED).isActive(true).build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        // Start cold, whatever the saves above left in the cache
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void deleteEnrollment() {
+        statistics.setStatisticsEnabled(false);
+        studentCourseEnrollmentRepository.delete(enrollment);
+        studentRepository.delete(student);
+        programCourseRepository.delete(programCourse);
+        trimesterRepository.delete(trimester);
+        courseRepository.delete(course);
+        programRepository.delete(program);
+    }
+
+    private List<StudentCourseEnrollmentDTO> mapEnrollments() {
+        return studentCourseEnrollmentService.getEnrollmentsByStudent(student.getId()).stream()
+                .map(StudentCourseEnrollmentDTO::fromEntity)
+                .toList();
+    }
+
+    @Test
+    void enrollmentReferencesAreResolvedFromTheCacheOnceWarm() {
+        assertEquals(1, mapEnrollments().size());
+        assertTrue(statistics.getSecondLevelCacheMissCount() > 0, "cold cache should miss");
+        assertTrue(statistics.getSecondLevelCachePutCount() > 0, "misses should populate the cache");
+
+        statistics.clear();
+        assertEquals(1, mapEnrollments().size());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount(), "warm cache missed");
+        // The offering, then its program, course and trimester
+        assertEquals(4, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void offeringLookupIsAnsweredFromTheQueryCache() {
+        assertEquals(1, programCourseRepository.findByProgramIdAndTrimesterId(program.getId(), trimester.getId()).size());
+        assertEquals(1, statistics.getQueryCacheMissCount());
+        assertEquals(1, statistics.getQueryCachePutCount());
+
+        statistics.clear();
+        assertEquals(1, programCourseRepository.findByProgramIdAndTrimesterId(program.getId(), trimester.getId()).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getQueryCacheMissCount());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount(), "cached query results should resolve from the entity cache");
+    }
+}
@@ -0,0 +1,163 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.StudentPortalApplication;
+import com.university.portal.student_portal.dto.TrimesterDTO.ProgramDTO;
+import com.university.portal.student_portal.entity.Course;
+import com.university.portal.student_portal.entity.Program;
+import com.university.portal.student_portal.entity.Student;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two portal instances against the Postgres from application.properties: a write on one must
+ * evict the other's caches. Skipped when that database is not reachable.
+ */
+class CacheInvalidationBusTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(properties.getProperty("spring.datasource.url"),
+                properties.getProperty("spring.datasource.username"), properties.getProperty("spring.datasource.password"))) {
+            // Reachable
+        } catch (SQLException e) {
+            Assumptions.abort("Postgres not available: " + e.getMessage());
+        }
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void catalogWriteOnOneNodeEvictsTheOther() throws InterruptedException {
+        ProgramService programsOnA = nodeA.getBean(ProgramService.class);
+        ProgramService programsOnB = nodeB.getBean(ProgramService.class);
+        String code = "IT-" + System.nanoTime();
+
+        List<ProgramDTO> before = programsOnB.getAllPrograms();
+        assertSame(before, programsOnB.getAllPrograms(), "second read should come from node B's cache");
+
+        Program program = new Program();
+        program.setProgramCode(code);
+        program.setProgramTitle("Cache Invalidation");
+        Program created = programsOnA.createProgram(program);
+        try {
+            assertTrue(await(() -> programsOnB.getAllPrograms().stream().anyMatch(p -> code.equals(p.getProgramCode()))),
+                    "node B still serves the program list cached before node A's write");
+        } finally {
+            programsOnA.deleteProgram(created.getId());
+        }
+        assertTrue(await(() -> programsOnB.getAllPrograms().stream().noneMatch(p -> code.equals(p.getProgramCode()))),
+                "node B still serves the program deleted on node A");
+    }
+
+    @Test
+    void entityUpdateOnOneNodeEvictsTheOthersSecondLevelCache() throws InterruptedException {
+        CourseService coursesOnA = nodeA.getBean(CourseService.class);
+        CourseService coursesOnB = nodeB.getBean(CourseService.class);
+        String code = "IT-" + System.nanoTime();
+
+        Course created = coursesOnA.createCourse(Course.builder().courseCode(code).courseTitle("Before").build());
+        try {
+            assertEquals("Before", coursesOnB.getCourseById(created.getId()).orElseThrow().getCourseTitle());
+            coursesOnA.updateCourse(created.getId(), Course.builder().courseCode(code).courseTitle("After").build());
+            assertTrue(await(() -> "After".equals(coursesOnB.getCourseById(created.getId()).orElseThrow().getCourseTitle())),
+                    "node B still serves the course from its second-level cache");
+        } finally {
+            coursesOnA.deleteCourse(created.getId());
+        }
+    }
+
+    @Test
+    void academicVersionBumpReachesTheOtherNode() throws InterruptedException {
+        AcademicVersionService versionsOnA = nodeA.getBean(AcademicVersionService.class);
+        AcademicVersionService versionsOnB = nodeB.getBean(AcademicVersionService.class);
+        Long studentId = -System.nanoTime();
+
+        String before = versionsOnB.currentVersion(studentId);
+        versionsOnA.bumpStudent(studentId);
+        assertTrue(await(() -> !versionsOnB.currentVersion(studentId).equals(before)),
+                "node B did not bump the student's academic version");
+
+        String beforeGlobal = versionsOnB.currentVersion(studentId);
+        versionsOnA.bumpAll();
+        assertTrue(await(() -> !versionsOnB.currentVersion(studentId).equals(beforeGlobal)),
+                "node B did not bump the global academic version");
+        assertNotEquals(nodeA.getBean(CacheInvalidationBus.class).getNodeId(), nodeB.getBean(CacheInvalidationBus.class).getNodeId());
+    }
+
+    @Test
+    void reissuedRegistrationNumberResolvesToTheNewStudentOnTheOtherNode() throws InterruptedException {
+        StudentService studentsOnA = nodeA.getBean(StudentService.class);
+        TranscriptService transcriptsOnB = nodeB.getBean(TranscriptService.class);
+        String registrationNumber = "IT-" + System.nanoTime();
+
+        Student first = studentsOnA.createStudent(student(registrationNumber));
+        assertTrue(transcriptsOnB.getCachedTranscriptByRegistrationNumber(registrationNumber).etag().startsWith("\"" + first.getId() + "-"));
+        studentsOnA.deleteStudent(first.getId());
+        Student second = studentsOnA.createStudent(student(registrationNumber));
+        try {
+            assertTrue(await(() -> transcriptsOnB.getCachedTranscriptByRegistrationNumber(registrationNumber).etag()
+                            .startsWith("\"" + second.getId() + "-")),
+                    "node B still resolves the registration number to the deleted student");
+        } finally {
+            studentsOnA.deleteStudent(second.getId());
+        }
+    }
+
+    private static Student student(String registrationNumber) {
+        return Student.builder().registrationNumber(registrationNumber).idOrPassportNumber(registrationNumber)
+                .fullName("Cache Invalidation").gender("F").dateOfBirth(LocalDate.of(2000, 1, 1)).phoneNumber("0700000000")
+                .universityEmail(registrationNumber.toLowerCase() + "@university.ac.ke").password("password123").build();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(StudentPortalApplication.class)
+                .run("--server.port=0", "--spring.jpa.show-sql=false");
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,133 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.BulkGradeResultDTO;
+import com.university.portal.student_portal.entity.Course;
+import com.university.portal.student_portal.entity.Program;
+import com.university.portal.student_portal.entity.ProgramCourse;
+import com.university.portal.student_portal.entity.Student;
+import com.university.portal.student_portal.entity.StudentCourseEnrollment;
+import com.university.portal.student_portal.entity.Trimester;
+import com.university.portal.student_portal.repository.CourseRepository;
+import com.university.portal.student_portal.repository.ProgramCourseRepository;
+import com.university.portal.student_portal.repository.ProgramRepository;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import com.university.portal.student_portal.repository.StudentRepository;
+import com.university.portal.student_portal.repository.TrimesterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * A grade sheet is written whole or not at all: neither a bad row nor a failure after the
+ * updates have gone out may leave part of it behind.
+ */
+@SpringBootTest
+class GradeCsvServiceTest {
+
+    @Autowired
+    private GradeCsvService gradeCsvService;
+    @Autowired
+    private ProgramRepository programRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private TrimesterRepository trimesterRepository;
+    @Autowired
+    private ProgramCourseRepository programCourseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private StudentCourseEnrollmentRepository studentCourseEnrollmentRepository;
+    @MockitoSpyBean
+    private GpaService gpaService;
+
+    private Program program;
+    private Course course;
+    private Trimester trimester;
+    private ProgramCourse programCourse;
+    private final List<Student> students = new ArrayList<>();
+    private final List<StudentCourseEnrollment> enrollments = new ArrayList<>();
+
+    @BeforeEach
+    void createClass() {
+        String code = "IT-" + System.nanoTime();
+        program = programRepository.save(Program.builder().programCode(code).programTitle("Grade Sheets").build());
+        course = courseRepository.save(Course.builder().courseCode(code).courseTitle("Grade Sheets").build());
+        trimester = trimesterRepository.save(Trimester.builder().name(code).academicYear("2024/2025").period("TRIM1_YEAR1")
+                .startDate(LocalDate.now().minusDays(10)).endDate(LocalDate.now().plusDays(60)).isActive(false)
+                .minimumCourses(1).maximumCourses(8).periodType(Trimester.AcademicPeriodType.TRIMESTER).build());
+        programCourse = programCourseRepository.save(ProgramCourse.builder().program(program).course(course).trimester(trimester)
+                .creditHours(3).isCore(true).isActive(true).build());
+        for (int i = 0; i < 3; i++) {
+            Student student = studentRepository.save(Student.builder().registrationNumber(code + "-" + i)
+                    .idOrPassportNumber(code + "-" + i).fullName("Student " + i).gender("F")
+                    .dateOfBirth(LocalDate.of(2000, 1, 1)).phoneNumber("0700000000")
+                    .universityEmail(code.toLowerCase() + "-" + i + "@university.ac.ke").password("x").build());
+            students.add(student);
+            enrollments.add(studentCourseEnrollmentRepository.save(StudentCourseEnrollment.builder().student(student)
+                    .programCourse(programCourse).enrolledAt(LocalDateTime.now())
+                    .status(StudentCourseEnrollment.EnrollmentStatus.ENROLLED).isActive(true).build()));
+        }
+    }
+
+    @AfterEach
+    void deleteClass() {
+        studentCourseEnrollmentRepository.deleteAll(enrollments);
+        studentRepository.deleteAll(students);
+        programCourseRepository.delete(programCourse);
+        trimesterRepository.delete(trimester);
+        courseRepository.delete(course);
+        programRepository.delete(program);
+    }
+
+    private MockMultipartFile sheet(String... grades) {
+        StringBuilder csv = new StringBuilder("Registration Number,Grade,Score\n");
+        for (int i = 0; i < grades.length; i++) {
+            csv.append(students.get(i).getRegistrationNumber()).append(',').append(grades[i]).append(",70\n");
+        }
+        return new MockMultipartFile("file", "grades.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void assertNoGradesWritten() {
+        for (StudentCourseEnrollment enrollment : enrollments) {
+            assertNull(studentCourseEnrollmentRepository.findById(enrollment.getId()).orElseThrow().getGrade(),
+                    "grade written for enrollment " + enrollment.getId());
+        }
+    }
+
+    @Test
+    void badRowLeavesNoGradesWritten() throws Exception {
+        BulkGradeResultDTO result = gradeCsvService.postGradesFromCsv(programCourse.getId(), sheet("A", "B", "Z"));
+
+        assertFalse(result.getErrors().isEmpty());
+        assertEquals(0, result.getUpdated());
+        assertNoGradesWritten();
+    }
+
+    @Test
+    void failureAfterTheUpdatesRollsThemBack() {
+        // The recompute runs after the batch updates, in the same transaction
+        doThrow(new IllegalStateException("GPA recompute failed")).when(gpaService).recomputeStudents(anyCollection());
+
+        assertThrows(IllegalStateException.class,
+                () -> gradeCsvService.postGradesFromCsv(programCourse.getId(), sheet("A", "B", "C")));
+        assertNoGradesWritten();
+    }
+}
@@ -0,0 +1,124 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.TranscriptDTO;
+import com.university.portal.student_portal.entity.IssuedCertificate;
+import com.university.portal.student_portal.entity.Student;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-document render cost of the PDF templates, with allocation rates from the GC profiler.
+ * The certificate is compared against drawing its whole layout on every request, as the
+ * service did before templates. Run from backend/ with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath com.university.portal.student_portal.service.PdfRenderBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfRenderBenchmark {
+
+    @Param({"10", "200"})
+    int courses;
+
+    private CertificatePdfRenderer certificateRenderer;
+    private TranscriptPdfRenderer transcriptRenderer;
+    private Student student;
+    private IssuedCertificate certificate;
+    private TranscriptDTO transcript;
+
+    @Setup
+    public void setUp() throws IOException {
+        certificateRenderer = new CertificatePdfRenderer();
+        transcriptRenderer = new TranscriptPdfRenderer();
+        student = Student.builder().fullName("Amina Wanjiru").registrationNumber("21/04956").build();
+        certificate = IssuedCertificate.builder()
+                .serial("SU-ABCD-EFGH-JKLM")
+                .fullName(student.getFullName())
+                .registrationNumber(student.getRegistrationNumber())
+                .issuedAt(LocalDateTime.of(2025, 7, 1, 9, 30, 15))
+                .signature("x".repeat(86))
+                .build();
+        List<TranscriptDTO.CourseGrade> grades = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            grades.add(new TranscriptDTO.CourseGrade("CS" + (100 + i), "Course " + i, "B", "Trimester " + (i / 6 + 1), 3));
+        }
+        transcript = new TranscriptDTO(student.getFullName(), student.getRegistrationNumber(),
+                "BSc Computer Science", grades, 3.1);
+    }
+
+    @Benchmark
+    public void certificateFromTemplate() throws IOException {
+        certificateRenderer.render(certificate, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void certificateDrawnPerRequest() throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            doc.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                line(content, PDType1Font.HELVETICA_BOLD, 24, 700, "Certificate of Enrollment");
+                line(content, PDType1Font.HELVETICA, 16, 650, "This is to certify that");
+                line(content, PDType1Font.HELVETICA_BOLD, 18, 620, student.getFullName());
+                line(content, PDType1Font.HELVETICA, 16, 590, "Registration Number: " + student.getRegistrationNumber());
+                line(content, PDType1Font.HELVETICA, 16, 560, "is enrolled in the university.");
+                line(content, PDType1Font.HELVETICA, 11, 200, "Serial: " + certificate.getSerial());
+                line(content, PDType1Font.HELVETICA, 11, 184, "Issued: " + certificate.getIssuedAt());
+                line(content, PDType1Font.HELVETICA, 9, 164, "Verification code:");
+                line(content, PDType1Font.HELVETICA, 8, 150, certificate.getSignature());
+                line(content, PDType1Font.HELVETICA, 9, 134, "Verify online at /api/certificate/verify/" + certificate.getSerial());
+            }
+            doc.save(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public void transcriptFromTemplate() throws IOException {
+        transcriptRenderer.render(transcript, OutputStream.nullOutputStream());
+    }
+
+    private static void line(PDPageContentStream content, PDType1Font font, float size, float y, String text) throws IOException {
+        content.setFont(font, size);
+        content.beginText();
+        content.newLineAtOffset(100, y);
+        content.showText(text);
+        content.endText();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PdfRenderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.university.portal.student_portal.service;
+
+import com.university.portal.student_portal.dto.MeetingSlotDTO;
+import com.university.portal.student_portal.repository.MeetingSlotRepository;
+import com.university.portal.student_portal.repository.StudentCourseEnrollmentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cart clash checks against the student's existing enrollments. Offering 1 (Mon 8-10) is already
+ * enrolled; 2 (Mon 9-11) clashes with it, 3 (Mon 11-12) clashes with nothing, and 4 (Mon 8-9)
+ * clashes with 1 only, as an existing enrollment would.
+ */
+class TimetableServiceTest {
+
+    private static final Long STUDENT = 7L;
+    private static final Long TRIMESTER = 3L;
+
+    private final Map<Long, MeetingSlotDTO> slots = Map.of(
+            1L, slot(1L, "CS101", 8, 10),
+            2L, slot(2L, "CS201", 9, 11),
+            3L, slot(3L, "CS301", 11, 12),
+            4L, slot(4L, "CS401", 8, 9));
+    private final TimetableService timetableService;
+
+    @SuppressWarnings("unchecked")
+    TimetableServiceTest() {
+        MeetingSlotRepository meetingSlotRepository = mock(MeetingSlotRepository.class);
+        when(meetingSlotRepository.findSlotsByProgramCourseIds(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream().map(slots::get).toList());
+        StudentCourseEnrollmentRepository enrollmentRepository = mock(StudentCourseEnrollmentRepository.class);
+        when(enrollmentRepository.findActiveProgramCourseIds(STUDENT, TRIMESTER)).thenReturn(List.of(1L));
+        timetableService = new TimetableService(meetingSlotRepository, enrollmentRepository);
+    }
+
+    private static MeetingSlotDTO slot(Long programCourseId, String courseCode, int startHour, int endHour) {
+        return new MeetingSlotDTO(programCourseId, programCourseId, courseCode, DayOfWeek.MONDAY,
+                LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), "LT" + programCourseId, "Dr " + courseCode);
+    }
+
+    @Test
+    void cartCourseClashingWithAnExistingEnrollmentIsRefused() {
+        // Alone in the cart, 2 has nothing to clash with but the enrollment in 1
+        IllegalStateException clash = assertThrows(IllegalStateException.class,
+                () -> timetableService.assertNoClashes(STUDENT, TRIMESTER, List.of(2L)));
+        assertTrue(clash.getMessage().contains("CS101") && clash.getMessage().contains("CS201"), clash.getMessage());
+    }
+
+    @Test
+    void cartWithoutClashesIsAccepted() {
+        assertDoesNotThrow(() -> timetableService.assertNoClashes(STUDENT, TRIMESTER, List.of(3L)));
+        // Another student has no enrollments, so 2 and 3 fit
+        assertDoesNotThrow(() -> timetableService.assertNoClashes(8L, TRIMESTER, List.of(2L, 3L)));
+    }
+
+    @Test
+    void clashesWithinTheCartAreRefused() {
+        assertThrows(IllegalStateException.class, () -> timetableService.assertNoClashes(8L, TRIMESTER, List.of(1L, 2L)));
+    }
+}